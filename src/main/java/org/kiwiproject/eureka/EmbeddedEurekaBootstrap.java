@@ -1,36 +1,114 @@
 package org.kiwiproject.eureka;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.DiscoveryClient;
 import com.netflix.discovery.shared.Application;
+import com.netflix.eureka.EurekaServerContext;
 import com.netflix.eureka.Jersey2EurekaBootStrap;
 import com.netflix.eureka.registry.AbstractInstanceRegistry;
+import com.netflix.eureka.util.EurekaMonitors;
 import com.netflix.eureka.util.MeasuredRate;
 import lombok.extern.slf4j.Slf4j;
+import org.kiwiproject.eureka.jfr.RegistryEvictionHook;
+import org.kiwiproject.eureka.jfr.RegistryOperationEvent;
+import org.kiwiproject.eureka.jfr.ServerLifecycleEvent;
 
+import javax.servlet.ServletContextEvent;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Extension of Eureka's bootstrap but with added accessors to validate internal Eureka data.
+ * <p>
+ * Context initialization and destruction, as well as registrations made through this class, are recorded as JDK
+ * Flight Recorder events (see the {@link org.kiwiproject.eureka.jfr} package).
  */
 @Slf4j
 public class EmbeddedEurekaBootstrap extends Jersey2EurekaBootStrap {
 
+    private RegistryEvictionHook evictionHook;
+
+    private long expiredCountAtInit;
+    private long lastSeenExpiredCount;
+    private Instant lastEvictionTime;
+
     public EmbeddedEurekaBootstrap(DiscoveryClient client) {
         super(client);
     }
 
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        var lifecycleEvent = new ServerLifecycleEvent();
+        lifecycleEvent.begin();
+        var succeeded = false;
+        try {
+            super.contextInitialized(event);
+            succeeded = true;
+        } finally {
+            commitLifecycleEvent(lifecycleEvent, ServerLifecycleEvent.BOOTSTRAP_INIT, succeeded);
+        }
+
+        synchronized (this) {
+            expiredCountAtInit = EurekaMonitors.EXPIRED.getCount();
+            lastSeenExpiredCount = expiredCountAtInit;
+            lastEvictionTime = null;
+        }
+
+        evictionHook = new RegistryEvictionHook(() -> serverContext.getRegistry().getApplications());
+        evictionHook.install();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        if (nonNull(evictionHook)) {
+            evictionHook.uninstall();
+            evictionHook = null;
+        }
+
+        var lifecycleEvent = new ServerLifecycleEvent();
+        lifecycleEvent.begin();
+        var succeeded = false;
+        try {
+            super.contextDestroyed(event);
+            succeeded = true;
+        } finally {
+            commitLifecycleEvent(lifecycleEvent, ServerLifecycleEvent.BOOTSTRAP_DESTROY, succeeded);
+        }
+    }
+
+    private static void commitLifecycleEvent(ServerLifecycleEvent lifecycleEvent, String phase, boolean succeeded) {
+        lifecycleEvent.end();
+        if (lifecycleEvent.shouldCommit()) {
+            lifecycleEvent.phase = phase;
+            lifecycleEvent.succeeded = succeeded;
+            lifecycleEvent.commit();
+        }
+    }
+
     /**
      * Cleans out all the registered applications inside of Eureka.
      */
     public void clearRegisteredApps() {
         LOG.info("Clearing registry");
+
+        var operationEvent = new RegistryOperationEvent();
+        operationEvent.begin();
         serverContext.getRegistry().clearRegistry();
+        operationEvent.end();
+
+        if (operationEvent.shouldCommit()) {
+            operationEvent.operation = RegistryOperationEvent.CLEAR;
+            operationEvent.source = RegistryOperationEvent.SOURCE_BOOTSTRAP;
+            operationEvent.commit();
+        }
     }
 
     /**
@@ -42,6 +120,15 @@ public class EmbeddedEurekaBootstrap extends Jersey2EurekaBootStrap {
         return serverContext.getRegistry().getApplications().getRegisteredApplications();
     }
 
+    /**
+     * Returns Eureka's server context, for utilities in this package that need to inspect its internals.
+     *
+     * @return the server context
+     */
+    EurekaServerContext eurekaServerContext() {
+        return serverContext;
+    }
+
     /**
      * Checks to see if a given app is registered in Eureka.
      *
@@ -98,6 +185,99 @@ public class EmbeddedEurekaBootstrap extends Jersey2EurekaBootStrap {
         }
     }
 
+    /**
+     * Returns a snapshot of Eureka's renewal accounting and self-preservation state. This only reads a handful of
+     * fields, so it is cheap enough to sample frequently, e.g. with a {@link RenewalSnapshotRecorder} during a load
+     * run.
+     * <p>
+     * Eureka does not record when leases were evicted, only how many have been. The last eviction time is therefore
+     * taken from the eviction task's last run at the first snapshot that sees that count go up. It is exact as long as
+     * snapshots are taken at least once per eviction interval (60 seconds by default).
+     *
+     * @return the renewal snapshot
+     * @implNote The expected client count and the eviction task's last run are read via reflection since Eureka does
+     * not expose them.
+     */
+    public RenewalSnapshot getRenewalSnapshot() {
+        var instanceRegistry = serverContext.getRegistry();
+        var serverConfig = serverContext.getServerConfig();
+
+        var expectedClients = RegistryInternals.expectedNumberOfClientsSendingRenews(instanceRegistry);
+        var expectedRenewalsPerMinute = expectedClients < 0
+                ? -1
+                : (int) (expectedClients * (60.0 / serverConfig.getExpectedClientRenewalIntervalSeconds()));
+
+        var now = Instant.now();
+        var expiredCount = EurekaMonitors.EXPIRED.getCount();
+
+        return RenewalSnapshot.builder()
+                .timestamp(now)
+                .expectedClients(expectedClients)
+                .expectedRenewalsPerMinute(expectedRenewalsPerMinute)
+                .renewalThreshold(instanceRegistry.getNumOfRenewsPerMinThreshold())
+                .renewalsLastMinute(instanceRegistry.getNumOfRenewsInLastMin())
+                .selfPreservationEnabled(instanceRegistry.isSelfPreservationModeEnabled())
+                .selfPreservationActive(!instanceRegistry.isLeaseExpirationEnabled())
+                .lastEvictionTime(updateLastEvictionTime(expiredCount, now))
+                .evictedLeases(expiredCount - expiredCountAtInit())
+                .build();
+    }
+
+    private synchronized Instant updateLastEvictionTime(long expiredCount, Instant now) {
+        if (expiredCount > lastSeenExpiredCount) {
+            lastSeenExpiredCount = expiredCount;
+            var lastEvictionNanos = RegistryInternals.lastEvictionNanos(serverContext.getRegistry());
+            lastEvictionTime = lastEvictionNanos == 0 ? now : now.minusNanos(System.nanoTime() - lastEvictionNanos);
+        }
+
+        return lastEvictionTime;
+    }
+
+    private synchronized long expiredCountAtInit() {
+        return expiredCountAtInit;
+    }
+
+    /**
+     * Removes all entries from Eureka's recent changes queue, i.e. the changes that are returned by delta fetches.
+     * Clients that fetch a delta afterwards will see their apps hash code disagree with the registry and fall back to
+     * a full fetch, as they would after the delta retention period has passed.
+     *
+     * @implNote Like {@link #getHeartbeatCount()} this needs reflection, since Eureka does not expose the queue.
+     */
+    public void clearRecentChanges() {
+        var recentlyChangedQueue = (Collection<?>) RegistryInternals.recentlyChangedQueue(serverContext.getRegistry());
+        if (isNull(recentlyChangedQueue)) {
+            LOG.error("Error clearing recent changes: unable to access the recent changes queue");
+            return;
+        }
+
+        recentlyChangedQueue.clear();
+    }
+
+    /**
+     * Renews the lease of a registered application instance, as its client would with a heartbeat.
+     *
+     * @param appName    the application name
+     * @param instanceId the instance id
+     * @return true if the instance was renewed, false if it is not registered
+     */
+    public boolean renewApplication(String appName, String instanceId) {
+        var operationEvent = new RegistryOperationEvent();
+        operationEvent.begin();
+        var renewed = serverContext.getRegistry().renew(appName, instanceId, false);
+        operationEvent.end();
+
+        if (operationEvent.shouldCommit()) {
+            operationEvent.operation = RegistryOperationEvent.RENEW;
+            operationEvent.source = RegistryOperationEvent.SOURCE_BOOTSTRAP;
+            operationEvent.appName = appName;
+            operationEvent.instanceId = instanceId;
+            operationEvent.commit();
+        }
+
+        return renewed;
+    }
+
     /**
      * Loads an application instance in Eureka for later retrieval.
      *
@@ -107,14 +287,49 @@ public class EmbeddedEurekaBootstrap extends Jersey2EurekaBootStrap {
      * @param status        the status of the instance
      */
     public void registerApplication(String appName, String instanceId, String vipAddress, String status) {
-        var instanceInfo = InstanceInfo.Builder.newBuilder()
+        registerApplication(appName, instanceId, vipAddress, status, RegistrationProfile.STANDARD);
+    }
+
+    /**
+     * Loads an application instance in Eureka for later retrieval, using the given profile.
+     *
+     * @param appName       the application name
+     * @param instanceId    the instance id
+     * @param vipAddress    the VIP address of the instance
+     * @param status        the status of the instance
+     * @param profile       how much per-instance state to keep
+     */
+    public void registerApplication(String appName,
+                                    String instanceId,
+                                    String vipAddress,
+                                    String status,
+                                    RegistrationProfile profile) {
+        var operationEvent = new RegistryOperationEvent();
+        operationEvent.begin();
+
+        var builder = InstanceInfo.Builder.newBuilder()
                 .setAppName(appName)
                 .setInstanceId(instanceId)
                 .setHostName(instanceId)
                 .setVIPAddress(vipAddress)
-                .setStatus(InstanceInfo.InstanceStatus.valueOf(status))
-                .build();
+                .setStatus(InstanceInfo.InstanceStatus.valueOf(status));
+
+        if (profile == RegistrationProfile.COMPACT) {
+            builder.setMetadata(Collections.emptyMap());
+        }
+
+        var instanceInfo = builder.build();
 
         serverContext.getRegistry().register(instanceInfo, false);
+        operationEvent.end();
+
+        if (operationEvent.shouldCommit()) {
+            operationEvent.operation = RegistryOperationEvent.REGISTER;
+            operationEvent.source = RegistryOperationEvent.SOURCE_BOOTSTRAP;
+            operationEvent.appName = appName;
+            operationEvent.instanceId = instanceId;
+            operationEvent.status = status;
+            operationEvent.commit();
+        }
     }
 }
@@ -13,17 +13,27 @@ import com.netflix.discovery.shared.transport.jersey2.Jersey2TransportClientFact
 import com.netflix.eureka.resources.EurekaServerContextBinder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.ConnectionLimit;
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
 import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.servlet.ServletContainer;
+import org.kiwiproject.eureka.jfr.RegistryEventsFilter;
+import org.kiwiproject.eureka.jfr.ServerLifecycleEvent;
 
 import javax.servlet.DispatcherType;
+import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Creates, configures, starts and stops an embedded Jetty server running a Eureka Server.
@@ -32,21 +42,39 @@ import java.util.concurrent.TimeUnit;
  * set the eureka.numberRegistrySyncRetries to zero in the System properties. This will allow the server to spin up
  * quickly an not try to connect to other non-existent Eureka servers.
  * See https://github.com/Netflix/eureka/issues/42#issuecomment-75614903 for dialog on this.
+ * <p>
+ * Server start/stop and requests to the {@code /v2/apps} resources are recorded as JDK Flight Recorder events (see
+ * the {@link org.kiwiproject.eureka.jfr} package). They cost close to nothing unless a recording is running.
  */
 @Slf4j
 public class EmbeddedEurekaServer {
 
-    private static final long IDLE_TIMEOUT = TimeUnit.HOURS.toMillis(1L);
-    private static final String DEFAULT_CONTEXT_PATH = "/";
-
+    private final EmbeddedEurekaServerConfig config;
     private final Server eurekaServer;
     private ServerConnector connector;
 
     @Getter
     private EmbeddedEurekaBootstrap registry;
 
+    /**
+     * Statistics (request counts, active requests, request times, response codes) for all requests handled by the
+     * server.
+     */
+    @Getter
+    private final StatisticsHandler requestStatistics;
+
+    /**
+     * Statistics (connections opened, currently open, durations, bytes and messages) for all connections accepted by
+     * the server.
+     */
+    @Getter
+    private final ConnectionStatistics connectionStatistics = new ConnectionStatistics();
+
+    /**
+     * Creates a new EmbeddedEurekaServer allowing Jetty to pick an available port, serving from the root context path.
+     */
     public EmbeddedEurekaServer() {
-        this(DEFAULT_CONTEXT_PATH);
+        this(EmbeddedEurekaServerConfig.builder().build());
     }
 
     /**
@@ -55,11 +83,21 @@ public class EmbeddedEurekaServer {
      * @param basePath the context path for the Jetty {@link WebAppContext}
      */
     public EmbeddedEurekaServer(String basePath) {
+        this(EmbeddedEurekaServerConfig.builder().basePath(basePath).build());
+    }
+
+    /**
+     * Creates a new EmbeddedEurekaServer using the given configuration.
+     *
+     * @param config the server configuration
+     */
+    public EmbeddedEurekaServer(EmbeddedEurekaServerConfig config) {
+        this.config = config;
         eurekaServer = newJettyServer();
         setupConnector();
 
         var webContext = new WebAppContext();
-        webContext.setContextPath(basePath);
+        webContext.setContextPath(config.getBasePath());
         webContext.setResourceBase(getWebappURL());
 
         buildEurekaBootstrap();
@@ -67,12 +105,17 @@ public class EmbeddedEurekaServer {
 
         configureApi(webContext);
 
-        eurekaServer.setHandler(webContext);
+        requestStatistics = new StatisticsHandler();
+        requestStatistics.setHandler(webContext);
+        eurekaServer.setHandler(requestStatistics);
     }
 
     @VisibleForTesting
     Server newJettyServer() {
-        return new Server();
+        var threadPool = new QueuedThreadPool(
+                config.getMaxThreads(), config.getMinThreads(), config.getThreadIdleTimeoutMillis());
+        threadPool.setName("EmbeddedEureka");
+        return new Server(threadPool);
     }
 
     @SuppressWarnings("UnstableApiUsage")
@@ -81,13 +124,29 @@ public class EmbeddedEurekaServer {
     }
 
     private void setupConnector() {
-        connector = new ServerConnector(eurekaServer);
+        var httpConfig = new HttpConfiguration();
+        httpConfig.setOutputBufferSize(config.getOutputBufferSize());
+        httpConfig.setRequestHeaderSize(config.getRequestHeaderSize());
+        httpConfig.setResponseHeaderSize(config.getResponseHeaderSize());
 
-        // Set timeout option to make debugging easier.
-        connector.setIdleTimeout(IDLE_TIMEOUT);
+        var connectionFactories = new ArrayList<ConnectionFactory>();
+        connectionFactories.add(new HttpConnectionFactory(httpConfig));
+        if (config.isHttp2Cleartext()) {
+            var http2 = new HTTP2CServerConnectionFactory(httpConfig);
+            http2.setMaxConcurrentStreams(config.getMaxConcurrentStreams());
+            connectionFactories.add(http2);
+        }
 
-        connector.setPort(0);
+        connector = new ServerConnector(eurekaServer, connectionFactories.toArray(new ConnectionFactory[0]));
+        connector.setIdleTimeout(config.getIdleTimeoutMillis());
+        connector.setAcceptQueueSize(config.getAcceptQueueSize());
+        connector.setPort(config.getPort());
+        connector.addBean(connectionStatistics);
         eurekaServer.setConnectors(new Connector[]{connector});
+
+        if (config.getMaxConnections() > 0) {
+            eurekaServer.addBean(new ConnectionLimit(config.getMaxConnections(), connector));
+        }
     }
 
     private void buildEurekaBootstrap() {
@@ -108,6 +167,8 @@ public class EmbeddedEurekaServer {
         resourceConfig.register(new EurekaServerContextBinder());
         resourceConfig.register(DiscoveryJerseyProvider.class);
 
+        webContext.addFilter(new FilterHolder(new RegistryEventsFilter()), "/*", EnumSet.of(DispatcherType.REQUEST));
+
         var resourceServletContext = new ServletContainer(resourceConfig);
         var filterHolder = new FilterHolder(resourceServletContext);
         webContext.addFilter(filterHolder, "/*", EnumSet.of(DispatcherType.REQUEST));
@@ -117,11 +178,17 @@ public class EmbeddedEurekaServer {
      * Starts the server.
      */
     public void start() {
+        var lifecycleEvent = new ServerLifecycleEvent();
+        lifecycleEvent.begin();
+        var succeeded = false;
         try {
             eurekaServer.start();
+            succeeded = true;
         } catch (Exception e) {
             LOG.error("Error starting Eureka", e);
             throw new IllegalStateException("Eureka has not been started", e);
+        } finally {
+            commitLifecycleEvent(lifecycleEvent, ServerLifecycleEvent.SERVER_START, getEurekaPort(), succeeded);
         }
     }
 
@@ -136,14 +203,34 @@ public class EmbeddedEurekaServer {
             return;
         }
 
+        var port = getEurekaPort();
+        var lifecycleEvent = new ServerLifecycleEvent();
+        lifecycleEvent.begin();
+        var succeeded = false;
         try {
             eurekaServer.stop();
             eurekaServer.join();
+            succeeded = true;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             LOG.error("Interrupted while shutting down Eureka", e);
         } catch (Exception e) {
             LOG.error("Error shutting down Eureka", e);
+        } finally {
+            commitLifecycleEvent(lifecycleEvent, ServerLifecycleEvent.SERVER_STOP, port, succeeded);
+        }
+    }
+
+    private static void commitLifecycleEvent(ServerLifecycleEvent lifecycleEvent,
+                                             String phase,
+                                             int port,
+                                             boolean succeeded) {
+        lifecycleEvent.end();
+        if (lifecycleEvent.shouldCommit()) {
+            lifecycleEvent.phase = phase;
+            lifecycleEvent.port = Math.max(port, 0);
+            lifecycleEvent.succeeded = succeeded;
+            lifecycleEvent.commit();
         }
     }
 
@@ -156,6 +243,15 @@ public class EmbeddedEurekaServer {
         return connector.getLocalPort();
     }
 
+    /**
+     * Retrieves the context path that the server responds to requests at.
+     *
+     * @return the base path
+     */
+    public String getBasePath() {
+        return config.getBasePath();
+    }
+
     /**
      * Returns whether the server is running or not.
      *
@@ -0,0 +1,101 @@
+package org.kiwiproject.eureka;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for an {@link EmbeddedEurekaServer}. The defaults match what
+ * {@link EmbeddedEurekaServer#EmbeddedEurekaServer()} has always done: serve from the root context path on a port
+ * chosen by Jetty, using Jetty's default thread pool sizes, buffer sizes and HTTP/1.1 only.
+ * <p>
+ * When simulating large numbers of clients, connection setup can cost more than the requests themselves. Enabling
+ * {@link #http2Cleartext} lets HTTP/2 capable clients multiplex their requests over a single connection, while
+ * {@link #idleTimeoutMillis} and {@link #maxConnections} control how long idle keep-alive connections are kept and
+ * how many may be open at once.
+ */
+@Getter
+@Builder
+public class EmbeddedEurekaServerConfig {
+
+    /**
+     * The context path for the Jetty {@link org.eclipse.jetty.webapp.WebAppContext}.
+     */
+    @Builder.Default
+    private final String basePath = "/";
+
+    /**
+     * The port to listen on. Zero lets Jetty pick an available port.
+     */
+    @Builder.Default
+    private final int port = 0;
+
+    /**
+     * The minimum number of threads in Jetty's request thread pool.
+     */
+    @Builder.Default
+    private final int minThreads = 8;
+
+    /**
+     * The maximum number of threads in Jetty's request thread pool.
+     */
+    @Builder.Default
+    private final int maxThreads = 200;
+
+    /**
+     * How long, in milliseconds, a thread above {@link #minThreads} may sit idle before it is stopped.
+     */
+    @Builder.Default
+    private final int threadIdleTimeoutMillis = 60_000;
+
+    /**
+     * Whether to accept cleartext HTTP/2 (h2c), either with prior knowledge or via an HTTP/1.1 {@code Upgrade: h2c}
+     * request. HTTP/1.1 is always accepted.
+     */
+    private final boolean http2Cleartext;
+
+    /**
+     * The maximum number of concurrent streams per HTTP/2 connection. Only used when {@link #http2Cleartext} is
+     * enabled.
+     */
+    @Builder.Default
+    private final int maxConcurrentStreams = 128;
+
+    /**
+     * How long, in milliseconds, an idle connection is kept open. This is how long HTTP/1.1 keep-alive connections
+     * survive between requests. The default is long to make debugging easier.
+     */
+    @Builder.Default
+    private final long idleTimeoutMillis = TimeUnit.HOURS.toMillis(1L);
+
+    /**
+     * The maximum number of open connections. Once reached, Jetty stops accepting new connections until one closes.
+     * Zero or negative means unlimited, since a limit of zero would accept no connections at all.
+     */
+    @Builder.Default
+    private final int maxConnections = -1;
+
+    /**
+     * The size of the queue of connections waiting to be accepted. Zero uses the operating system default.
+     */
+    private final int acceptQueueSize;
+
+    /**
+     * The size, in bytes, of the response output buffer. Responses larger than this are sent chunked.
+     */
+    @Builder.Default
+    private final int outputBufferSize = 32_768;
+
+    /**
+     * The maximum size, in bytes, of request headers.
+     */
+    @Builder.Default
+    private final int requestHeaderSize = 8_192;
+
+    /**
+     * The maximum size, in bytes, of response headers.
+     */
+    @Builder.Default
+    private final int responseHeaderSize = 8_192;
+}
@@ -0,0 +1,213 @@
+package org.kiwiproject.eureka;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Estimates the heap retained by object graphs by walking their fields reflectively and summing shallow sizes computed
+ * from the JVM's object layout (header size, reference size and alignment).
+ * <p>
+ * Objects are only counted once per sizer, so sizing several structures one after the other attributes shared objects
+ * to the first structure that reaches them. The walk does not descend into classes, class loaders, threads,
+ * executors, enum constants or the referents of {@link Reference}s, nor into any boundary objects given to the
+ * constructor, since those are not owned by the structures being measured.
+ * <p>
+ * Sizes are estimates: field packing gaps are ignored. Reference fields that cannot be made accessible cannot be
+ * followed, which leaves whatever they reference out of the estimate. That happens on JDK 16 and later, which
+ * enforce strong encapsulation of JDK internals, unless the packages are opened to this code, e.g. with
+ * {@code --add-opens java.base/java.util.concurrent=ALL-UNNAMED}. Such fields are logged once and reported by
+ * {@link #getUnfollowedFields()}, along with the {@code --add-opens} options that would allow following them, so
+ * callers can refuse to report an incomplete estimate.
+ */
+@Slf4j
+class ObjectGraphSizer {
+
+    private static final Map<Class<?>, ClassLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private static final boolean COMPRESSED_OOPS = booleanVmOption("UseCompressedOops", true);
+    private static final boolean COMPRESSED_CLASS_POINTERS = booleanVmOption("UseCompressedClassPointers", true);
+    private static final int REFERENCE_SIZE = COMPRESSED_OOPS ? 4 : 8;
+    private static final int OBJECT_HEADER_SIZE = COMPRESSED_CLASS_POINTERS ? 12 : 16;
+    private static final int ARRAY_HEADER_SIZE = OBJECT_HEADER_SIZE + 4;
+    private static final int OBJECT_ALIGNMENT = intVmOption("ObjectAlignmentInBytes", 8);
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<String> unfollowedFields = new TreeSet<>();
+
+    ObjectGraphSizer(Object... boundaries) {
+        Collections.addAll(visited, boundaries);
+    }
+
+    /**
+     * Returns the estimated size of all objects reachable from the given root that have not already been counted.
+     *
+     * @param root the root of the object graph
+     * @return the estimated size in bytes
+     */
+    long sizeOf(Object root) {
+        var total = 0L;
+        var stack = new ArrayDeque<Object>();
+        push(stack, root);
+
+        while (!stack.isEmpty()) {
+            var object = stack.pop();
+            var type = object.getClass();
+
+            if (type.isArray()) {
+                total += arraySize(object, type.getComponentType());
+                if (!type.getComponentType().isPrimitive()) {
+                    for (var i = 0; i < Array.getLength(object); i++) {
+                        push(stack, Array.get(object, i));
+                    }
+                }
+                continue;
+            }
+
+            var layout = LAYOUTS.computeIfAbsent(type, ClassLayout::new);
+            total += layout.shallowSize;
+
+            if (object instanceof Reference) {
+                continue;
+            }
+
+            for (var field : layout.referenceFields) {
+                push(stack, valueOf(field, object));
+            }
+            unfollowedFields.addAll(layout.inaccessibleFields);
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns the reference fields reached by {@link #sizeOf(Object)} so far that could not be followed because they
+     * could not be made accessible. If not empty, the sizes returned are underestimates.
+     *
+     * @return descriptions of the fields, including the {@code --add-opens} option that would make each accessible
+     */
+    Set<String> getUnfollowedFields() {
+        return Collections.unmodifiableSet(unfollowedFields);
+    }
+
+    private void push(ArrayDeque<Object> stack, Object object) {
+        if (object == null || isExcluded(object) || !visited.add(object)) {
+            return;
+        }
+        stack.push(object);
+    }
+
+    private static boolean isExcluded(Object object) {
+        return object instanceof Class
+                || object instanceof ClassLoader
+                || object instanceof Thread
+                || object instanceof ThreadGroup
+                || object instanceof Executor
+                || object instanceof Enum;
+    }
+
+    private static Object valueOf(Field field, Object object) {
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static long arraySize(Object array, Class<?> componentType) {
+        return align(ARRAY_HEADER_SIZE + (long) Array.getLength(array) * sizeOfType(componentType));
+    }
+
+    private static int sizeOfType(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_SIZE;
+    }
+
+    private static long align(long size) {
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    private static boolean booleanVmOption(String name, boolean defaultValue) {
+        try {
+            var diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(diagnostics.getVMOption(name).getValue());
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private static int intVmOption(String name, int defaultValue) {
+        try {
+            var diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Integer.parseInt(diagnostics.getVMOption(name).getValue());
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private static class ClassLayout {
+
+        final long shallowSize;
+        final List<Field> referenceFields = new ArrayList<>();
+        final List<String> inaccessibleFields = new ArrayList<>();
+
+        ClassLayout(Class<?> type) {
+            var fieldsSize = 0L;
+            for (var current = type; current != null; current = current.getSuperclass()) {
+                for (var field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+
+                    fieldsSize += sizeOfType(field.getType());
+                    if (field.getType().isPrimitive()) {
+                        continue;
+                    }
+
+                    if (field.trySetAccessible()) {
+                        referenceFields.add(field);
+                    } else {
+                        var description = describe(current, field);
+                        LOG.warn("Unable to follow {}; sizes will be underestimated", description);
+                        inaccessibleFields.add(description);
+                    }
+                }
+            }
+            shallowSize = align(OBJECT_HEADER_SIZE + fieldsSize);
+        }
+
+        private static String describe(Class<?> declaringClass, Field field) {
+            var fieldName = declaringClass.getName() + "#" + field.getName();
+            var module = declaringClass.getModule();
+            if (!module.isNamed()) {
+                return fieldName;
+            }
+
+            return fieldName + " (needs --add-opens " + module.getName() + "/" + declaringClass.getPackageName()
+                    + "=ALL-UNNAMED)";
+        }
+    }
+}
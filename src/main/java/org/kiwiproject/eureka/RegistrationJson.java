@@ -0,0 +1,38 @@
+package org.kiwiproject.eureka;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Locale;
+
+/**
+ * Builds JSON registration bodies for Eureka's {@code POST /v2/apps/{appName}} endpoint, for tools that register
+ * instances over HTTP rather than through {@link EmbeddedEurekaBootstrap}, such as
+ * {@link org.kiwiproject.eureka.replay.TrafficReplayEngine} and
+ * {@link org.kiwiproject.eureka.delta.DeltaConsistencyChecker}.
+ */
+@UtilityClass
+public class RegistrationJson {
+
+    /**
+     * Returns the body of a registration for a minimal instance that is UP, using the instance ID as its host name and
+     * the lower case application name as its VIP address.
+     *
+     * @param appName    the application name
+     * @param instanceId the instance ID
+     * @return the JSON body
+     */
+    public static String forInstance(String appName, String instanceId) {
+        return String.format("{\"instance\":{"
+                        + "\"instanceId\":\"%2$s\","
+                        + "\"hostName\":\"%2$s\","
+                        + "\"app\":\"%1$s\","
+                        + "\"ipAddr\":\"127.0.0.1\","
+                        + "\"vipAddress\":\"%3$s\","
+                        + "\"status\":\"UP\","
+                        + "\"port\":{\"$\":8080,\"@enabled\":\"true\"},"
+                        + "\"dataCenterInfo\":{"
+                        + "\"@class\":\"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo\",\"name\":\"MyOwn\"}"
+                        + "}}",
+                appName, instanceId, appName.toLowerCase(Locale.ENGLISH));
+    }
+}
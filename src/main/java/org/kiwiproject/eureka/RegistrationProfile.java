@@ -0,0 +1,26 @@
+package org.kiwiproject.eureka;
+
+/**
+ * Controls how much per-instance state {@link EmbeddedEurekaBootstrap} keeps for instances it registers directly.
+ */
+public enum RegistrationProfile {
+
+    /**
+     * Registers instances the same way a real Eureka client would end up represented: each instance gets its own,
+     * mutable metadata map, and the registration shows up in the recent changes (delta) queue.
+     */
+    STANDARD,
+
+    /**
+     * Registers instances with a shared, immutable, empty metadata map instead of a per-instance map. That is the only
+     * difference, and it is small: one empty {@code ConcurrentHashMap} per instance, about 60 bytes. With 100,000
+     * instances on JDK 17, the registry, recent changes queue and response cache retained about 200 MB with either
+     * profile, and COMPACT saved about 6 MB of it.
+     * <p>
+     * Most of that heap is the cached full and delta payloads. To keep the delta payload small, load large fixtures
+     * with {@link RegistryFixtures.RecentChanges#CLEAR}, which saved about 70 MB in the same measurement.
+     * <p>
+     * Requests that update the metadata of a compact instance will fail, since its metadata map cannot be modified.
+     */
+    COMPACT
+}
@@ -0,0 +1,163 @@
+package org.kiwiproject.eureka;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Loads registry fixtures, i.e. sets of application instances to pre-register in an {@link EmbeddedEurekaBootstrap}.
+ * <p>
+ * A fixture file contains one instance per line, as comma-separated values in the same order as the arguments of
+ * {@link EmbeddedEurekaBootstrap#registerApplication(String, String, String, String)}. Blank lines and lines starting
+ * with {@code #} are ignored. For example:
+ * <pre>
+ * # appName,instanceId,vipAddress,status
+ * ORDER-SERVICE,order-1,order-service,UP
+ * ORDER-SERVICE,order-2,order-service,STARTING
+ * </pre>
+ * For large fixtures, load with {@link RecentChanges#CLEAR}, and optionally {@link RegistrationProfile#COMPACT}. See
+ * {@link RecentChanges} for what each saves.
+ * <p>
+ * Fixture instances are registered like any other client, so each one raises the number of renewals Eureka expects
+ * per minute. Unless they are renewed, e.g. with {@link #renew(EmbeddedEurekaBootstrap, Path)} every 30 seconds,
+ * Eureka soon receives fewer renewals than it expects and enters self-preservation. From then on it evicts no expired
+ * leases, including those of real services that registered and then died. That does not matter for short tests, but
+ * does for a long-running stand-in server.
+ */
+@Slf4j
+@UtilityClass
+public class RegistryFixtures {
+
+    /**
+     * What to do with Eureka's recent changes (delta) queue once a fixture is loaded.
+     * <p>
+     * Every registration is added to the queue and stays there for the delta retention period (three minutes by
+     * default). While it does, a delta fetch serializes every fixture instance, so the cached delta payload is as large
+     * as the full registry payload. For 100,000 instances, that is about 66 MB of JSON held by the response cache, on
+     * top of about 125 MB for the registry and the full payload. Clearing the queue avoids it.
+     */
+    public enum RecentChanges {
+
+        /**
+         * Keep the fixture's registrations in the queue, as if its instances had registered themselves.
+         */
+        KEEP,
+
+        /**
+         * Clear the whole queue once the fixture is loaded. This also drops any changes made by other clients before
+         * the fixture finished loading, so clients that fetch deltas will not see them and must fall back to a full
+         * fetch.
+         */
+        CLEAR
+    }
+
+    /**
+     * Registers every instance in the given fixture file.
+     *
+     * @param registry    the registry to load the instances into
+     * @param fixtureFile the fixture file
+     * @return the number of instances registered
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if a line does not have exactly four values, or has an invalid status
+     */
+    public static int load(EmbeddedEurekaBootstrap registry, Path fixtureFile) {
+        return load(registry, fixtureFile, RegistrationProfile.STANDARD);
+    }
+
+    /**
+     * Registers every instance in the given fixture file using the given profile, keeping the registrations in the
+     * recent changes queue.
+     *
+     * @param registry    the registry to load the instances into
+     * @param fixtureFile the fixture file
+     * @param profile     how much per-instance state to keep
+     * @return the number of instances registered
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if a line does not have exactly four values, or has an invalid status
+     */
+    public static int load(EmbeddedEurekaBootstrap registry, Path fixtureFile, RegistrationProfile profile) {
+        return load(registry, fixtureFile, profile, RecentChanges.KEEP);
+    }
+
+    /**
+     * Registers every instance in the given fixture file using the given profile, then keeps or clears Eureka's recent
+     * changes queue.
+     *
+     * @param registry      the registry to load the instances into
+     * @param fixtureFile   the fixture file
+     * @param profile       how much per-instance state to keep
+     * @param recentChanges whether to clear the recent changes queue once the fixture is loaded
+     * @return the number of instances registered
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if a line does not have exactly four values, or has an invalid status
+     */
+    public static int load(EmbeddedEurekaBootstrap registry,
+                           Path fixtureFile,
+                           RegistrationProfile profile,
+                           RecentChanges recentChanges) {
+        var count = forEachInstance(fixtureFile,
+                values -> registry.registerApplication(values[0], values[1], values[2], values[3], profile));
+
+        if (recentChanges == RecentChanges.CLEAR) {
+            registry.clearRecentChanges();
+        }
+
+        LOG.info("Loaded {} instances from registry fixture {} using {} profile ({} recent changes)",
+                count, fixtureFile, profile, recentChanges);
+        return count;
+    }
+
+    /**
+     * Renews the lease of every instance in the given fixture file that is still registered, as the instances' clients
+     * would with a heartbeat. Instances that have been cancelled or evicted are skipped.
+     *
+     * @param registry    the registry the fixture was loaded into
+     * @param fixtureFile the fixture file
+     * @return the number of instances renewed
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if a line does not have exactly four values
+     */
+    public static int renew(EmbeddedEurekaBootstrap registry, Path fixtureFile) {
+        var renewed = new int[1];
+        forEachInstance(fixtureFile, values -> {
+            if (registry.renewApplication(values[0], values[1])) {
+                renewed[0]++;
+            }
+        });
+        return renewed[0];
+    }
+
+    private static int forEachInstance(Path fixtureFile, Consumer<String[]> action) {
+        var count = 0;
+        var lineNumber = 0;
+
+        try (var reader = Files.newBufferedReader(fixtureFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                var trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+
+                var values = trimmed.split("\\s*,\\s*");
+                if (values.length != 4) {
+                    throw new IllegalArgumentException("Expected appName,instanceId,vipAddress,status at line "
+                            + lineNumber + " of " + fixtureFile);
+                }
+
+                action.accept(values);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read registry fixture " + fixtureFile, e);
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,162 @@
+package org.kiwiproject.eureka;
+
+import static java.util.Objects.isNull;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how much heap the embedded Eureka registry retains, in total, per instance, and per internal structure
+ * (registry/leases, recent changes queue and response cache). See {@link RegistryFootprintReport} for how objects
+ * shared between structures are attributed.
+ * <p>
+ * This is meant for sizing test fixtures, e.g. to compare {@link RegistrationProfile#STANDARD} and
+ * {@link RegistrationProfile#COMPACT} registrations before committing to a 100k-instance fixture. It walks the whole
+ * registry reflectively, so do not call it in a hot loop.
+ * <p>
+ * On JDK 16 and later, the walk needs access to JDK collection internals, so run with
+ * {@code --add-opens java.base/java.lang=ALL-UNNAMED}, {@code --add-opens java.base/java.util=ALL-UNNAMED},
+ * {@code --add-opens java.base/java.util.concurrent=ALL-UNNAMED}, and likewise for {@code java.util.concurrent.atomic}
+ * and {@code java.util.concurrent.locks}. If any field on the walked path still cannot be followed, measuring fails
+ * with an {@link IllegalStateException} naming the {@code --add-opens} options needed, rather than returning an
+ * underestimate.
+ */
+@Slf4j
+@UtilityClass
+public class RegistryFootprint {
+
+    private static final int INSTANCES_PER_APP = 10;
+    private static final int GC_ATTEMPTS = 3;
+
+    /**
+     * Measures the registry as it currently is.
+     *
+     * @param registry the registry to measure
+     * @return the footprint report, with {@link RegistryFootprintReport#getHeapDeltaBytes()} set to -1
+     * @throws IllegalStateException if part of the registry cannot be reached reflectively
+     */
+    public static RegistryFootprintReport measure(EmbeddedEurekaBootstrap registry) {
+        return measure(registry, -1);
+    }
+
+    /**
+     * Clears the registry of the given server, registers the given number of synthetic instances (ten per
+     * application) using the given profile, populates the response cache with a full and a delta fetch, and then
+     * measures the registry. The synthetic instances remain registered afterwards.
+     * <p>
+     * This never clears the recent changes queue, so comparing reports for the two profiles shows the per-instance
+     * difference alone.
+     *
+     * @param server        the running server to measure
+     * @param instanceCount the number of instances to register
+     * @param profile       the profile to register the instances with
+     * @return the footprint report
+     * @throws IllegalStateException if part of the registry cannot be reached reflectively
+     */
+    public static RegistryFootprintReport measureAtSize(EmbeddedEurekaServer server,
+                                                        int instanceCount,
+                                                        RegistrationProfile profile) {
+        var registry = server.getRegistry();
+        registry.clearRegisteredApps();
+
+        var heapBefore = usedHeapAfterGc();
+
+        for (var i = 0; i < instanceCount; i++) {
+            var appName = "FOOTPRINT-APP-" + (i / INSTANCES_PER_APP);
+            registry.registerApplication(appName, "footprint-" + i, appName.toLowerCase(Locale.ENGLISH), "UP", profile);
+        }
+
+        fetch(server, "/v2/apps");
+        fetch(server, "/v2/apps/delta");
+
+        var heapAfter = usedHeapAfterGc();
+
+        var report = measure(registry, heapAfter - heapBefore);
+        LOG.info("Registry footprint for {} instances using {} profile: {}", instanceCount, profile, report);
+        return report;
+    }
+
+    private static RegistryFootprintReport measure(EmbeddedEurekaBootstrap registry, long heapDeltaBytes) {
+        var serverContext = registry.eurekaServerContext();
+        var instanceRegistry = serverContext.getRegistry();
+
+        var sizer = new ObjectGraphSizer(
+                registry,
+                serverContext,
+                instanceRegistry,
+                serverContext.getServerConfig(),
+                serverContext.getServerCodecs(),
+                serverContext.getPeerEurekaNodes(),
+                serverContext.getApplicationInfoManager());
+
+        var registryBytes = sizer.sizeOf(requireField(RegistryInternals.registry(instanceRegistry), "registry"));
+        var recentChangesBytes = sizer.sizeOf(
+                requireField(RegistryInternals.recentlyChangedQueue(instanceRegistry), "recentlyChangedQueue"));
+        var responseCacheBytes = sizer.sizeOf(instanceRegistry.getResponseCache());
+
+        var unfollowedFields = sizer.getUnfollowedFields();
+        if (!unfollowedFields.isEmpty()) {
+            throw new IllegalStateException("Unable to measure the whole registry; the following fields could not be"
+                    + " followed: " + String.join(", ", unfollowedFields));
+        }
+
+        var instanceCount = registry.registeredApplications().stream()
+                .mapToInt(application -> application.getInstances().size())
+                .sum();
+
+        return RegistryFootprintReport.builder()
+                .instanceCount(instanceCount)
+                .registryBytes(registryBytes)
+                .recentChangesBytes(recentChangesBytes)
+                .responseCacheBytes(responseCacheBytes)
+                .heapDeltaBytes(heapDeltaBytes)
+                .build();
+    }
+
+    private static Object requireField(Object value, String name) {
+        if (isNull(value)) {
+            throw new IllegalStateException("Unable to access AbstractInstanceRegistry#" + name);
+        }
+        return value;
+    }
+
+    private static void fetch(EmbeddedEurekaServer server, String path) {
+        var uri = URI.create("http://localhost:" + server.getEurekaPort()
+                + StringUtils.removeEnd(server.getBasePath(), "/") + path);
+        var request = HttpRequest.newBuilder(uri).header("Accept", "application/json").GET().build();
+
+        try {
+            HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while populating response cache from {}", uri);
+        } catch (IOException e) {
+            LOG.warn("Error populating response cache from {}", uri, e);
+        }
+    }
+
+    @SuppressWarnings("java:S1215")
+    private static long usedHeapAfterGc() {
+        var memory = ManagementFactory.getMemoryMXBean();
+        for (var i = 0; i < GC_ATTEMPTS; i++) {
+            System.gc();
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
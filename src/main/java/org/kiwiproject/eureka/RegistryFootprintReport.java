@@ -0,0 +1,62 @@
+package org.kiwiproject.eureka;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Estimated heap retained by the embedded Eureka registry, as measured by {@link RegistryFootprint}.
+ * <p>
+ * Objects shared between structures are attributed to the first structure in this order: registry, recent changes,
+ * response cache. For example, a lease that is both registered and in the recent changes queue counts towards the
+ * registry, and the recent changes figure only covers the queue's own nodes and change records.
+ */
+@Value
+@Builder
+public class RegistryFootprintReport {
+
+    /**
+     * Number of instances in the registry when it was measured.
+     */
+    int instanceCount;
+
+    /**
+     * Bytes retained by the registry map, i.e. the leases and the {@code InstanceInfo}s they hold.
+     */
+    long registryBytes;
+
+    /**
+     * Bytes retained by the recent changes (delta) queue, beyond what the registry already holds.
+     */
+    long recentChangesBytes;
+
+    /**
+     * Bytes retained by the response cache (cached, serialized full and delta payloads), beyond what the registry
+     * and recent changes already hold.
+     */
+    long responseCacheBytes;
+
+    /**
+     * Change in used heap, measured after garbage collection, while the instances were registered and the response
+     * cache populated. Only available from {@link RegistryFootprint#measureAtSize}, otherwise -1. This is a noisy
+     * cross-check of the estimates since it includes anything else allocated at the same time.
+     */
+    long heapDeltaBytes;
+
+    /**
+     * Returns the sum of the per-structure estimates.
+     *
+     * @return total bytes
+     */
+    public long getTotalBytes() {
+        return registryBytes + recentChangesBytes + responseCacheBytes;
+    }
+
+    /**
+     * Returns the total estimate divided by the number of instances.
+     *
+     * @return bytes per instance, or zero if the registry is empty
+     */
+    public long getBytesPerInstance() {
+        return instanceCount == 0 ? 0 : getTotalBytes() / instanceCount;
+    }
+}
@@ -0,0 +1,92 @@
+package org.kiwiproject.eureka;
+
+import com.netflix.eureka.registry.AbstractInstanceRegistry;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reflective access to {@link AbstractInstanceRegistry} internals that Eureka does not expose. The fields are looked up
+ * once, so reading them is cheap enough to do on every sample of a load run.
+ */
+@Slf4j
+@UtilityClass
+class RegistryInternals {
+
+    private static final Field REGISTRY = accessibleField(AbstractInstanceRegistry.class, "registry");
+    private static final Field RECENTLY_CHANGED_QUEUE =
+            accessibleField(AbstractInstanceRegistry.class, "recentlyChangedQueue");
+    private static final Field EXPECTED_NUMBER_OF_CLIENTS_SENDING_RENEWS =
+            accessibleField(AbstractInstanceRegistry.class, "expectedNumberOfClientsSendingRenews");
+    private static final Field EVICTION_TASK_REF = accessibleField(AbstractInstanceRegistry.class, "evictionTaskRef");
+
+    private static volatile Field lastExecutionNanosRef;
+
+    /**
+     * Returns the registry map of application name to instance ID to lease, or null if it cannot be read.
+     */
+    static Object registry(Object instanceRegistry) {
+        return valueOf(REGISTRY, instanceRegistry);
+    }
+
+    /**
+     * Returns the queue of recent changes returned by delta fetches, or null if it cannot be read.
+     */
+    static Object recentlyChangedQueue(Object instanceRegistry) {
+        return valueOf(RECENTLY_CHANGED_QUEUE, instanceRegistry);
+    }
+
+    /**
+     * Returns the number of clients Eureka expects renewals from, or -1 if it cannot be read.
+     */
+    static int expectedNumberOfClientsSendingRenews(Object instanceRegistry) {
+        var value = valueOf(EXPECTED_NUMBER_OF_CLIENTS_SENDING_RENEWS, instanceRegistry);
+        return value == null ? -1 : (int) value;
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} at which the eviction task last ran, or 0 if it has not run yet or cannot
+     * be read.
+     */
+    static long lastEvictionNanos(Object instanceRegistry) {
+        var evictionTaskRef = (AtomicReference<?>) valueOf(EVICTION_TASK_REF, instanceRegistry);
+        var evictionTask = evictionTaskRef == null ? null : evictionTaskRef.get();
+        if (evictionTask == null) {
+            return 0;
+        }
+
+        if (lastExecutionNanosRef == null) {
+            lastExecutionNanosRef = accessibleField(evictionTask.getClass(), "lastExecutionNanosRef");
+        }
+
+        var lastExecutionNanos = (AtomicLong) valueOf(lastExecutionNanosRef, evictionTask);
+        return lastExecutionNanos == null ? 0 : lastExecutionNanos.get();
+    }
+
+    @SuppressWarnings("java:S3011")
+    private static Field accessibleField(Class<?> type, String name) {
+        try {
+            var field = type.getDeclaredField(name);
+            field.setAccessible(true); // Suppress Java language access checking
+            return field;
+        } catch (Exception e) {
+            LOG.warn("Unable to access {}#{}; values read from it will be unavailable", type.getName(), name, e);
+            return null;
+        }
+    }
+
+    private static Object valueOf(Field field, Object target) {
+        if (field == null) {
+            return null;
+        }
+
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.kiwiproject.eureka;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A point-in-time view of Eureka's renewal accounting and self-preservation state, as returned by
+ * {@link EmbeddedEurekaBootstrap#getRenewalSnapshot()}.
+ * <p>
+ * Eureka enters self-preservation, and stops evicting expired leases, when the renewals received in the last minute
+ * are not above {@link #getRenewalThreshold()}. The threshold is the expected renewals per minute multiplied by the
+ * server's renewal percent threshold (85% by default).
+ */
+@Value
+@Builder
+public class RenewalSnapshot {
+
+    /**
+     * When the snapshot was taken.
+     */
+    Instant timestamp;
+
+    /**
+     * Number of clients Eureka expects renewals from, or -1 if it could not be read.
+     */
+    int expectedClients;
+
+    /**
+     * Number of renewals per minute Eureka expects from {@link #getExpectedClients()} clients, or -1 if it could not
+     * be read.
+     */
+    int expectedRenewalsPerMinute;
+
+    /**
+     * Renewals per minute at or below which self-preservation kicks in.
+     */
+    int renewalThreshold;
+
+    /**
+     * Renewals received during the last complete minute.
+     */
+    long renewalsLastMinute;
+
+    /**
+     * Whether self-preservation is enabled in the server configuration.
+     */
+    boolean selfPreservationEnabled;
+
+    /**
+     * Whether self-preservation is currently preventing leases from being evicted, i.e. whether Eureka's registry
+     * reports lease expiration as disabled.
+     */
+    boolean selfPreservationActive;
+
+    /**
+     * When leases were last evicted, or null if none have been since the server started. Leases are only evicted by
+     * Eureka's eviction task, and not while self-preservation is active.
+     */
+    Instant lastEvictionTime;
+
+    /**
+     * Number of leases evicted since the server started.
+     * <p>
+     * This and {@link #getLastEvictionTime()} come from Eureka's expired lease counter, which is a static monitor
+     * shared by every registry in the JVM. When several embedded servers run in the same JVM, each one's snapshots
+     * therefore include the evictions of all of them.
+     */
+    long evictedLeases;
+}
@@ -0,0 +1,138 @@
+package org.kiwiproject.eureka;
+
+import static java.util.Objects.requireNonNull;
+
+import com.netflix.servo.util.ThreadFactories;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples {@link EmbeddedEurekaBootstrap#getRenewalSnapshot()} at a fixed interval, building a time series of
+ * renewal and self-preservation state over a load run.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (var recorder = new RenewalSnapshotRecorder(server.getRegistry(), Duration.ofSeconds(1))) {
+ *     recorder.start();
+ *     // run the load
+ *     recorder.stop();
+ *     var snapshots = recorder.getSnapshots();
+ * }
+ * </pre>
+ */
+@Slf4j
+public class RenewalSnapshotRecorder implements AutoCloseable {
+
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private final EmbeddedEurekaBootstrap bootstrap;
+    private final Duration interval;
+    private final List<RenewalSnapshot> snapshots = new ArrayList<>();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a recorder for the given registry.
+     *
+     * @param bootstrap the registry to sample
+     * @param interval  the time between samples
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public RenewalSnapshotRecorder(EmbeddedEurekaBootstrap bootstrap, Duration interval) {
+        this.bootstrap = requireNonNull(bootstrap, "bootstrap is required");
+        this.interval = requireNonNull(interval, "interval is required");
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive but was: " + interval);
+        }
+    }
+
+    /**
+     * Starts sampling. The first snapshot is taken immediately.
+     *
+     * @throws IllegalStateException if the recorder is already started
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Recorder is already started");
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(ThreadFactories.withName("RenewalSnapshotRecorder-%d"));
+        executor.scheduleAtFixedRate(this::sample, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops sampling, waiting for a sample in progress to finish so that no snapshot is added afterwards. The
+     * snapshots recorded so far are kept. Does nothing if the recorder is not started.
+     */
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Renewal snapshot sampling did not stop within {} seconds", STOP_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor = null;
+        }
+    }
+
+    /**
+     * Whether the recorder is currently sampling.
+     *
+     * @return true if started and not yet stopped
+     */
+    public synchronized boolean isRecording() {
+        return executor != null;
+    }
+
+    /**
+     * Returns the snapshots recorded so far, oldest first.
+     *
+     * @return an immutable copy of the snapshots
+     */
+    public List<RenewalSnapshot> getSnapshots() {
+        synchronized (snapshots) {
+            return List.copyOf(snapshots);
+        }
+    }
+
+    /**
+     * Discards the snapshots recorded so far.
+     */
+    public void clear() {
+        synchronized (snapshots) {
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * Stops sampling.
+     */
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void sample() {
+        try {
+            var snapshot = bootstrap.getRenewalSnapshot();
+            synchronized (snapshots) {
+                snapshots.add(snapshot);
+            }
+        } catch (Exception e) {
+            // Don't let a failed sample cancel the scheduled task
+            LOG.warn("Unable to take renewal snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.kiwiproject.eureka.delta;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Options controlling the load applied, and the checks made, by {@link DeltaConsistencyChecker}.
+ */
+@Getter
+@Builder
+public class DeltaCheckOptions {
+
+    /**
+     * Number of threads concurrently registering, cancelling and changing the status of instances.
+     */
+    @Builder.Default
+    private final int mutatorThreads = 8;
+
+    /**
+     * Number of shadow clients, each holding its own copy of the registry that it keeps up to date from deltas.
+     */
+    @Builder.Default
+    private final int shadowClients = 4;
+
+    /**
+     * Number of applications the mutated instances are spread across.
+     */
+    @Builder.Default
+    private final int applications = 10;
+
+    /**
+     * Number of instances per application that the mutators register, cancel and change the status of.
+     */
+    @Builder.Default
+    private final int instancesPerApplication = 50;
+
+    /**
+     * Target number of mutations per second across all mutator threads. Zero mutates as fast as the server allows.
+     */
+    private final int mutationsPerSecond;
+
+    /**
+     * Time between delta fetches of each shadow client. Real clients fetch every 30 seconds; fetching more often
+     * checks more deltas per run.
+     */
+    @Builder.Default
+    private final Duration fetchInterval = Duration.ofMillis(100);
+
+    /**
+     * How long to apply load for.
+     */
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Timeout applied to each request.
+     */
+    @Builder.Default
+    private final Duration requestTimeout = Duration.ofSeconds(10);
+}
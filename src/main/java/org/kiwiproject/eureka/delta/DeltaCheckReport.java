@@ -0,0 +1,87 @@
+package org.kiwiproject.eureka.delta;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a {@link DeltaConsistencyChecker} run.
+ */
+@Value
+@Builder
+public class DeltaCheckReport {
+
+    /**
+     * Time the load was applied for.
+     */
+    Duration duration;
+
+    long registrations;
+    long cancellations;
+    long statusChanges;
+
+    /**
+     * Number of mutations or fetches that failed with an exception or an unexpected response.
+     */
+    long failedRequests;
+
+    /**
+     * Number of deltas fetched, applied and checked by the shadow clients, not counting {@link #getRepeatedDeltas()}.
+     */
+    long deltaFetches;
+
+    /**
+     * Number of delta fetches that returned the same response as the shadow client's previous delta fetch, typically
+     * because both were served from Eureka's read-only response cache. These are neither applied nor checked.
+     */
+    long repeatedDeltas;
+
+    /**
+     * Number of instance changes (added, modified or deleted) contained in the applied deltas.
+     */
+    long deltaChangesApplied;
+
+    /**
+     * Number of deltas after which the shadow client's reconcile hash code matched the server's.
+     */
+    long hashCodeMatches;
+
+    /**
+     * Number of deltas after which the shadow client's reconcile hash code did not match the server's, so that it had
+     * to fall back to a full fetch, just as a real Eureka client does.
+     */
+    long reconciliationFallbacks;
+
+    /**
+     * Number of full fetches, including the initial fetch of each shadow client.
+     */
+    long fullFetches;
+
+    /**
+     * Total number of mutations applied.
+     *
+     * @return registrations, cancellations and status changes
+     */
+    public long getMutations() {
+        return registrations + cancellations + statusChanges;
+    }
+
+    /**
+     * Mutation rate actually achieved.
+     *
+     * @return mutations per second
+     */
+    public double getMutationsPerSecond() {
+        return duration.isZero() ? 0.0 : getMutations() / (duration.toNanos() / 1_000_000_000.0);
+    }
+
+    /**
+     * Fraction of applied deltas that resulted in a full fetch fallback.
+     *
+     * @return a value from 0.0 to 1.0
+     */
+    public double getFallbackRate() {
+        return deltaFetches == 0 ? 0.0 : (double) reconciliationFallbacks / deltaFetches;
+    }
+}
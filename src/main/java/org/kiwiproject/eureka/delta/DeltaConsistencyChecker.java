@@ -0,0 +1,438 @@
+package org.kiwiproject.eureka.delta;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.servo.util.ThreadFactories;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.kiwiproject.eureka.EmbeddedEurekaServer;
+import org.kiwiproject.eureka.RegistrationJson;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks that Eureka clients applying incremental deltas stay consistent with the registry while it changes quickly.
+ * <p>
+ * Mutator threads concurrently register, cancel and change the status of instances over HTTP, optionally at a target
+ * rate. At the same time, shadow clients each start from a full fetch of {@code /v2/apps} and then repeatedly fetch
+ * {@code /v2/apps/delta} and apply it to their copy of the registry the same way {@code DiscoveryClient} does. After
+ * every delta, the reconcile hash code of the client's copy is compared with the apps hash code the server sent with
+ * the delta. A mismatch means the client has drifted; like a real client, the shadow client then falls back to a full
+ * fetch, and the fallback is counted.
+ * <p>
+ * By default Eureka serves fetches from a read-only response cache that is refreshed every 30 seconds, so shadow
+ * clients see the registry with the same delay real clients would, and fetching more often than that mostly returns
+ * the same delta again. A delta identical to the one a shadow client fetched before it is therefore counted as
+ * repeated and skipped, rather than applied and checked again; otherwise a stale delta applied on top of a newer full
+ * fetch would be counted as drift. For short runs, lower the server's {@code eureka.responseCacheUpdateIntervalMs} so
+ * that deltas change during the run. Instances registered during the run are left in the registry.
+ */
+@Slf4j
+public class DeltaConsistencyChecker {
+
+    private static final CodecWrappers.JacksonJson CODEC = new CodecWrappers.JacksonJson();
+    private static final String APP_NAME_PREFIX = "DELTA-CHECK-";
+
+    private final String baseUrl;
+    private final DeltaCheckOptions options;
+    private final HttpClient httpClient;
+
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicLong cancellations = new AtomicLong();
+    private final AtomicLong statusChanges = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong deltaFetches = new AtomicLong();
+    private final AtomicLong repeatedDeltas = new AtomicLong();
+    private final AtomicLong deltaChangesApplied = new AtomicLong();
+    private final AtomicLong hashCodeMatches = new AtomicLong();
+    private final AtomicLong reconciliationFallbacks = new AtomicLong();
+    private final AtomicLong fullFetches = new AtomicLong();
+
+    /**
+     * Creates a new checker for the given server, which must be started before calling {@link #run()}.
+     *
+     * @param server  the server to check
+     * @param options the checker options
+     */
+    public DeltaConsistencyChecker(EmbeddedEurekaServer server, DeltaCheckOptions options) {
+        this(URI.create("http://localhost:" + server.getEurekaPort() + server.getBasePath()), options);
+    }
+
+    /**
+     * Creates a new checker for the Eureka server at the given base URI.
+     *
+     * @param baseUri the base URI of the Eureka server, e.g. {@code http://localhost:8761/eureka/}
+     * @param options the checker options
+     */
+    public DeltaConsistencyChecker(URI baseUri, DeltaCheckOptions options) {
+        Validate.isTrue(options.getMutatorThreads() > 0, "mutatorThreads must be positive");
+        Validate.isTrue(options.getShadowClients() > 0, "shadowClients must be positive");
+        Validate.isTrue(options.getApplications() > 0, "applications must be positive");
+        Validate.isTrue(options.getInstancesPerApplication() > 0, "instancesPerApplication must be positive");
+        Validate.isTrue(options.getMutationsPerSecond() >= 0, "mutationsPerSecond must not be negative");
+
+        this.baseUrl = StringUtils.removeEnd(baseUri.toString(), "/");
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getRequestTimeout())
+                .build();
+    }
+
+    /**
+     * Applies load for the configured duration while checking deltas, then reports the results. Counters are
+     * cumulative if a checker is run more than once.
+     *
+     * @return the report for the run
+     */
+    public DeltaCheckReport run() {
+        var threads = options.getMutatorThreads() + options.getShadowClients();
+        var executor = Executors.newFixedThreadPool(threads, ThreadFactories.withName("DeltaCheck-%d"));
+
+        var startNanos = System.nanoTime();
+        var deadlineNanos = startNanos + options.getDuration().toNanos();
+        try {
+            var tasks = new ArrayList<Future<?>>();
+            for (var i = 0; i < options.getShadowClients(); i++) {
+                tasks.add(executor.submit(newShadowClient(deadlineNanos)));
+            }
+            for (var i = 0; i < options.getMutatorThreads(); i++) {
+                tasks.add(executor.submit(new Mutator(i, deadlineNanos)));
+            }
+
+            awaitAll(tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return report(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    @VisibleForTesting
+    ShadowClient newShadowClient(long deadlineNanos) {
+        return new ShadowClient(deadlineNanos);
+    }
+
+    @VisibleForTesting
+    DeltaCheckReport report(Duration duration) {
+        return DeltaCheckReport.builder()
+                .duration(duration)
+                .registrations(registrations.get())
+                .cancellations(cancellations.get())
+                .statusChanges(statusChanges.get())
+                .failedRequests(failedRequests.get())
+                .deltaFetches(deltaFetches.get())
+                .repeatedDeltas(repeatedDeltas.get())
+                .deltaChangesApplied(deltaChangesApplied.get())
+                .hashCodeMatches(hashCodeMatches.get())
+                .reconciliationFallbacks(reconciliationFallbacks.get())
+                .fullFetches(fullFetches.get())
+                .build();
+    }
+
+    private static void awaitAll(List<Future<?>> tasks) {
+        for (var task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while waiting for delta check to complete");
+                return;
+            } catch (ExecutionException e) {
+                LOG.error("Delta check task failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Applies a delta to the given applications the same way {@code DiscoveryClient} does.
+     *
+     * @return the number of instance changes in the delta
+     */
+    @VisibleForTesting
+    static long applyDelta(Applications applications, Applications delta) {
+        var changes = 0L;
+        for (var deltaApp : delta.getRegisteredApplications()) {
+            for (var instance : deltaApp.getInstancesAsIsFromEureka()) {
+                if (instance.getActionType() == null) {
+                    LOG.debug("Ignoring delta instance {} without action type", instance.getId());
+                    continue;
+                }
+
+                changes++;
+                var existingApp = applications.getRegisteredApplications(instance.getAppName());
+
+                switch (instance.getActionType()) {
+                    case ADDED:
+                    case MODIFIED:
+                        if (existingApp == null) {
+                            existingApp = new Application(instance.getAppName());
+                            applications.addApplication(existingApp);
+                        }
+                        existingApp.addInstance(instance);
+                        break;
+
+                    case DELETED:
+                        if (existingApp != null) {
+                            existingApp.removeInstance(instance);
+                            if (existingApp.getInstancesAsIsFromEureka().isEmpty()) {
+                                applications.removeApplication(existingApp);
+                            }
+                        }
+                        break;
+
+                    default:
+                        LOG.debug("Ignoring delta instance {} with action type {}",
+                                instance.getId(), instance.getActionType());
+                }
+            }
+        }
+        return changes;
+    }
+
+    private boolean isBeforeDeadline(long deadlineNanos) {
+        return System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted();
+    }
+
+    private String fetch(String path) {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(options.getRequestTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                failedRequests.incrementAndGet();
+                return null;
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            LOG.debug("Fetch of {} failed", path, e);
+            failedRequests.incrementAndGet();
+            return null;
+        }
+    }
+
+    private Applications decode(String body) {
+        try {
+            return CODEC.decode(body, Applications.class);
+        } catch (Exception e) {
+            LOG.debug("Unable to decode fetched applications", e);
+            failedRequests.incrementAndGet();
+            return null;
+        }
+    }
+
+    private boolean execute(HttpRequest request) {
+        try {
+            var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 200 && status <= 299) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            LOG.debug("Mutation {} {} failed", request.method(), request.uri(), e);
+        }
+
+        failedRequests.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Keeps a copy of the registry up to date from deltas, verifying the reconcile hash code after each one.
+     */
+    @VisibleForTesting
+    class ShadowClient implements Runnable {
+
+        private final long deadlineNanos;
+        private Applications applications;
+        private String lastDeltaBody;
+
+        ShadowClient(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run() {
+            while (applications == null && isBeforeDeadline(deadlineNanos)) {
+                fullFetch();
+            }
+
+            while (isBeforeDeadline(deadlineNanos)) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(options.getFetchInterval().toNanos());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                var body = fetch("/v2/apps/delta");
+                if (body != null) {
+                    checkDelta(body);
+                }
+            }
+        }
+
+        /**
+         * Applies a fetched delta, unless it repeats the previous one, then compares the reconcile hash code with the
+         * server's and falls back to a full fetch if they differ.
+         */
+        @VisibleForTesting
+        void checkDelta(String body) {
+            if (body.equals(lastDeltaBody)) {
+                repeatedDeltas.incrementAndGet();
+                return;
+            }
+
+            lastDeltaBody = body;
+            var delta = decode(body);
+            if (delta == null) {
+                return;
+            }
+
+            deltaFetches.incrementAndGet();
+            deltaChangesApplied.addAndGet(applyDelta(applications, delta));
+
+            var clientHashCode = applications.getReconcileHashCode();
+            if (clientHashCode.equals(delta.getAppsHashCode())) {
+                hashCodeMatches.incrementAndGet();
+            } else {
+                reconciliationFallbacks.incrementAndGet();
+                LOG.debug("Reconcile hash code {} does not match server hash code {}; falling back to full fetch",
+                        clientHashCode, delta.getAppsHashCode());
+                fullFetch();
+            }
+        }
+
+        @VisibleForTesting
+        void fullFetch() {
+            var body = fetch("/v2/apps");
+            var fetched = body == null ? null : decode(body);
+            if (fetched != null) {
+                fullFetches.incrementAndGet();
+                applications = fetched;
+            }
+        }
+    }
+
+    /**
+     * Registers, cancels and changes the status of its share of the instances until the deadline.
+     */
+    private class Mutator implements Runnable {
+
+        private final int index;
+        private final long deadlineNanos;
+        private final long intervalNanos;
+        private final List<Integer> ownedInstances = new ArrayList<>();
+        private final InstanceInfo.InstanceStatus[] statuses;
+
+        Mutator(int index, long deadlineNanos) {
+            this.index = index;
+            this.deadlineNanos = deadlineNanos;
+            this.intervalNanos = options.getMutationsPerSecond() == 0
+                    ? 0
+                    : TimeUnit.SECONDS.toNanos(options.getMutatorThreads()) / options.getMutationsPerSecond();
+
+            var totalInstances = options.getApplications() * options.getInstancesPerApplication();
+            for (var i = index; i < totalInstances; i += options.getMutatorThreads()) {
+                ownedInstances.add(i);
+            }
+
+            // A null status means the instance is not registered
+            statuses = new InstanceInfo.InstanceStatus[totalInstances];
+        }
+
+        @Override
+        public void run() {
+            if (ownedInstances.isEmpty()) {
+                LOG.debug("Mutator {} has no instances to mutate", index);
+                return;
+            }
+
+            var nextNanos = System.nanoTime();
+            while (isBeforeDeadline(deadlineNanos)) {
+                if (intervalNanos > 0) {
+                    nextNanos += intervalNanos;
+                    var waitNanos = nextNanos - System.nanoTime();
+                    if (waitNanos > 0 && !sleep(waitNanos)) {
+                        return;
+                    }
+                }
+
+                mutate(ownedInstances.get(ThreadLocalRandom.current().nextInt(ownedInstances.size())));
+            }
+        }
+
+        private boolean sleep(long nanos) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void mutate(int instance) {
+            var appName = APP_NAME_PREFIX + (instance / options.getInstancesPerApplication());
+            var instanceId = appName.toLowerCase(Locale.ENGLISH) + "-" + instance;
+            var status = statuses[instance];
+
+            if (status == null) {
+                if (execute(registerRequest(appName, instanceId))) {
+                    registrations.incrementAndGet();
+                    statuses[instance] = InstanceInfo.InstanceStatus.UP;
+                }
+            } else if (ThreadLocalRandom.current().nextInt(10) < 3) {
+                if (execute(newRequest("/v2/apps/" + appName + "/" + instanceId).DELETE().build())) {
+                    cancellations.incrementAndGet();
+                    statuses[instance] = null;
+                }
+            } else {
+                var newStatus = status == InstanceInfo.InstanceStatus.UP
+                        ? InstanceInfo.InstanceStatus.OUT_OF_SERVICE
+                        : InstanceInfo.InstanceStatus.UP;
+                var path = "/v2/apps/" + appName + "/" + instanceId + "/status?value=" + newStatus;
+                if (execute(newRequest(path).PUT(HttpRequest.BodyPublishers.noBody()).build())) {
+                    statusChanges.incrementAndGet();
+                    statuses[instance] = newStatus;
+                }
+            }
+        }
+
+        private HttpRequest.Builder newRequest(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(options.getRequestTimeout());
+        }
+
+        private HttpRequest registerRequest(String appName, String instanceId) {
+            return newRequest("/v2/apps/" + appName)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(RegistrationJson.forInstance(appName, instanceId)))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.kiwiproject.eureka.jfr;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet filter that emits {@link RegistryOperationEvent} and {@link RegistryFetchEvent} JFR events for requests
+ * to the Eureka {@code /v2/apps} resources. Each event times the request through the rest of the servlet chain, so
+ * fetch events measure request latency rather than payload serialization, which Eureka's response cache mostly does
+ * elsewhere (see {@link RegistryFetchEvent}).
+ * <p>
+ * When no recording has these events enabled the filter only checks the HTTP method and the event's enabled flag
+ * before passing the request along, so it adds close to nothing to the request pipeline.
+ */
+public class RegistryEventsFilter implements Filter {
+
+    @SuppressWarnings("java:S1075")
+    private static final String APPS_PATH = "/v2/apps";
+    private static final String DELTA_PATH = APPS_PATH + "/delta";
+    private static final String STATUS_SEGMENT = "status";
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        // nothing to initialize
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!(request instanceof HttpServletRequest) || !(response instanceof HttpServletResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var httpRequest = (HttpServletRequest) request;
+        var httpResponse = (HttpServletResponse) response;
+
+        if ("GET".equals(httpRequest.getMethod())) {
+            doFilterFetch(httpRequest, httpResponse, chain);
+        } else {
+            doFilterOperation(httpRequest, httpResponse, chain);
+        }
+    }
+
+    private static void doFilterFetch(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        var event = new RegistryFetchEvent();
+        var fetchType = event.isEnabled() ? fetchTypeOf(pathWithinContext(request)) : null;
+
+        if (fetchType == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fetchType = fetchType;
+                event.accept = request.getHeader("Accept");
+                event.httpStatus = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+
+    private static void doFilterOperation(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        var event = new RegistryOperationEvent();
+        var segments = event.isEnabled() ? appsPathSegments(pathWithinContext(request)) : null;
+        var operation = operationOf(request.getMethod(), segments);
+
+        if (operation == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.source = RegistryOperationEvent.SOURCE_HTTP;
+                event.appName = segments[0];
+                event.instanceId = segments.length > 1 ? segments[1] : null;
+                event.status = statusOf(operation, request);
+                event.httpStatus = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+
+    private static String pathWithinContext(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    @VisibleForTesting
+    static String fetchTypeOf(String path) {
+        if (APPS_PATH.equals(path) || (APPS_PATH + "/").equals(path)) {
+            return "FULL";
+        } else if (DELTA_PATH.equals(path)) {
+            return "DELTA";
+        }
+
+        return null;
+    }
+
+    @VisibleForTesting
+    static String[] appsPathSegments(String path) {
+        if (!path.startsWith(APPS_PATH + "/")) {
+            return null;
+        }
+
+        var remainder = path.substring(APPS_PATH.length() + 1);
+        return remainder.isEmpty() ? null : remainder.split("/");
+    }
+
+    @VisibleForTesting
+    static String operationOf(String method, String[] segments) {
+        if (segments == null) {
+            return null;
+        }
+
+        if (segments.length == 1 && "POST".equals(method)) {
+            return RegistryOperationEvent.REGISTER;
+        } else if (segments.length == 2 && "PUT".equals(method)) {
+            return RegistryOperationEvent.RENEW;
+        } else if (segments.length == 2 && "DELETE".equals(method)) {
+            return RegistryOperationEvent.CANCEL;
+        } else if (segments.length == 3 && STATUS_SEGMENT.equals(segments[2]) && "PUT".equals(method)) {
+            return RegistryOperationEvent.STATUS_CHANGE;
+        } else if (segments.length == 3 && STATUS_SEGMENT.equals(segments[2]) && "DELETE".equals(method)) {
+            return RegistryOperationEvent.STATUS_OVERRIDE_REMOVAL;
+        }
+
+        return null;
+    }
+
+    private static String statusOf(String operation, HttpServletRequest request) {
+        if (RegistryOperationEvent.RENEW.equals(operation)) {
+            return request.getParameter("status");
+        } else if (RegistryOperationEvent.STATUS_CHANGE.equals(operation)) {
+            return request.getParameter("value");
+        }
+
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to clean up
+    }
+}
@@ -0,0 +1,32 @@
+package org.kiwiproject.eureka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * Periodic JFR event recorded when Eureka's eviction task has expired one or more leases since the previous period.
+ * <p>
+ * Eureka does not expose a hook for eviction, so this is emitted from a periodic hook that compares the global
+ * expired lease counter between periods. The hook only runs while a recording has this event enabled. Because that
+ * counter is shared by the whole JVM, evictions from any embedded server in the JVM are reported by every server.
+ */
+@Name("org.kiwiproject.eureka.RegistryEviction")
+@Label("Registry Eviction")
+@Category({"Embedded Eureka", "Registry"})
+@Description("Leases expired by the embedded Eureka eviction task")
+@StackTrace(false)
+@Period("1 s")
+public class RegistryEvictionEvent extends jdk.jfr.Event {
+
+    @Label("Evicted Instances")
+    @Description("Number of leases expired by any Eureka registry in the JVM since the previous period")
+    public long evictedInstances;
+
+    @Label("Registered Instances")
+    @Description("Number of instances remaining in the registry")
+    public int registeredInstances;
+}
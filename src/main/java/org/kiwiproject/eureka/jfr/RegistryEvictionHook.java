@@ -0,0 +1,63 @@
+package org.kiwiproject.eureka.jfr;
+
+import com.netflix.discovery.shared.Applications;
+import com.netflix.eureka.util.EurekaMonitors;
+import jdk.jfr.FlightRecorder;
+
+import java.util.function.Supplier;
+
+/**
+ * Periodic JFR hook that emits a {@link RegistryEvictionEvent} whenever Eureka's global expired lease counter has
+ * advanced since the hook last ran. JFR only invokes the hook while a recording has the event enabled.
+ * <p>
+ * The expired lease counter is a static Eureka monitor shared by every registry in the JVM, and Eureka offers no way
+ * to tell which registry an eviction came from. When several embedded servers run in the same JVM, as they can in a
+ * test suite, each server's hook therefore reports the evictions of all of them.
+ */
+public class RegistryEvictionHook implements Runnable {
+
+    private final Supplier<Applications> applicationsSupplier;
+    private long lastExpiredCount;
+
+    /**
+     * Creates a new hook.
+     *
+     * @param applicationsSupplier supplies the current registry contents, used to report the remaining instances
+     */
+    public RegistryEvictionHook(Supplier<Applications> applicationsSupplier) {
+        this.applicationsSupplier = applicationsSupplier;
+        this.lastExpiredCount = EurekaMonitors.EXPIRED.getCount();
+    }
+
+    /**
+     * Registers this hook with the {@link FlightRecorder}.
+     */
+    public void install() {
+        FlightRecorder.addPeriodicEvent(RegistryEvictionEvent.class, this);
+    }
+
+    /**
+     * Removes this hook from the {@link FlightRecorder}.
+     */
+    public void uninstall() {
+        FlightRecorder.removePeriodicEvent(this);
+    }
+
+    @Override
+    public synchronized void run() {
+        var expiredCount = EurekaMonitors.EXPIRED.getCount();
+        var evicted = expiredCount - lastExpiredCount;
+        lastExpiredCount = expiredCount;
+
+        if (evicted <= 0) {
+            return;
+        }
+
+        var event = new RegistryEvictionEvent();
+        event.evictedInstances = evicted;
+        event.registeredInstances = applicationsSupplier.get().getRegisteredApplications().stream()
+                .mapToInt(application -> application.getInstances().size())
+                .sum();
+        event.commit();
+    }
+}
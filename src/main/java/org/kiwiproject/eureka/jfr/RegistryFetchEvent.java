@@ -0,0 +1,37 @@
+package org.kiwiproject.eureka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for a full ({@code /v2/apps}) or delta ({@code /v2/apps/delta}) registry fetch request. The
+ * duration is the latency of the whole request as seen by the servlet pipeline.
+ * <p>
+ * This is not the cost of serializing the registry. Eureka builds and serializes fetch payloads in its response cache:
+ * on a miss of its read-write cache, and when its read-only cache (enabled by default) is refreshed by a timer every
+ * 30 seconds. With the read-only cache enabled, most fetch requests therefore only look up and write out bytes that
+ * were serialized earlier on another thread, and only a request that misses the cache includes building the payload.
+ * To see serialization itself, look for the cache refresh in the execution samples of the same recording.
+ */
+@Name("org.kiwiproject.eureka.RegistryFetch")
+@Label("Registry Fetch Request")
+@Category({"Embedded Eureka", "HTTP"})
+@Description("Latency of a full or delta fetch request to the embedded Eureka registry, usually served from the "
+        + "response cache")
+@StackTrace(false)
+public class RegistryFetchEvent extends jdk.jfr.Event {
+
+    @Label("Fetch Type")
+    @Description("FULL or DELTA")
+    public String fetchType;
+
+    @Label("Accept")
+    @Description("The requested media type")
+    public String accept;
+
+    @Label("HTTP Status")
+    public int httpStatus;
+}
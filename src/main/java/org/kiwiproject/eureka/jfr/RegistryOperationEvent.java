@@ -0,0 +1,50 @@
+package org.kiwiproject.eureka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for a single registry mutation (register, renew, cancel, status change) whether it arrived over
+ * HTTP or was made directly through {@link org.kiwiproject.eureka.EmbeddedEurekaBootstrap}.
+ */
+@Name("org.kiwiproject.eureka.RegistryOperation")
+@Label("Registry Operation")
+@Category({"Embedded Eureka", "Registry"})
+@Description("A register, renew, cancel or status change against the embedded Eureka registry")
+@StackTrace(false)
+public class RegistryOperationEvent extends jdk.jfr.Event {
+
+    public static final String REGISTER = "REGISTER";
+    public static final String RENEW = "RENEW";
+    public static final String CANCEL = "CANCEL";
+    public static final String STATUS_CHANGE = "STATUS_CHANGE";
+    public static final String STATUS_OVERRIDE_REMOVAL = "STATUS_OVERRIDE_REMOVAL";
+    public static final String CLEAR = "CLEAR";
+
+    public static final String SOURCE_HTTP = "HTTP";
+    public static final String SOURCE_BOOTSTRAP = "BOOTSTRAP";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Source")
+    @Description("HTTP when received by the server, BOOTSTRAP when called directly on the registry")
+    public String source;
+
+    @Label("Application")
+    public String appName;
+
+    @Label("Instance ID")
+    public String instanceId;
+
+    @Label("Status")
+    @Description("The requested instance status, if any")
+    public String status;
+
+    @Label("HTTP Status")
+    @Description("The HTTP response status, or 0 when not received over HTTP")
+    public int httpStatus;
+}
@@ -0,0 +1,48 @@
+package org.kiwiproject.eureka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around the start and stop phases of the embedded Jetty server and the Eureka bootstrap.
+ */
+@Name("org.kiwiproject.eureka.ServerLifecycle")
+@Label("Server Lifecycle")
+@Category({"Embedded Eureka", "Lifecycle"})
+@Description("A start or stop phase of the embedded Eureka server")
+@StackTrace(false)
+public class ServerLifecycleEvent extends jdk.jfr.Event {
+
+    /**
+     * Phase for starting the embedded Jetty server.
+     */
+    public static final String SERVER_START = "SERVER_START";
+
+    /**
+     * Phase for stopping the embedded Jetty server.
+     */
+    public static final String SERVER_STOP = "SERVER_STOP";
+
+    /**
+     * Phase for initializing the Eureka server context.
+     */
+    public static final String BOOTSTRAP_INIT = "BOOTSTRAP_INIT";
+
+    /**
+     * Phase for shutting down the Eureka server context.
+     */
+    public static final String BOOTSTRAP_DESTROY = "BOOTSTRAP_DESTROY";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Port")
+    @Description("The local port of the server, or 0 when not yet known")
+    public int port;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
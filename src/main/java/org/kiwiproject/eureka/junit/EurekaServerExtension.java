@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.kiwiproject.eureka.EmbeddedEurekaServer;
 import org.kiwiproject.eureka.EurekaTestHelpers;
+import org.kiwiproject.eureka.RenewalSnapshot;
 
 import java.util.List;
 
@@ -137,4 +138,13 @@ public class EurekaServerExtension implements BeforeAllCallback, AfterAllCallbac
         return eurekaServer.getRegistry().getHeartbeatCount();
     }
 
+    /**
+     * Helper method to access {@code EmbeddedEurekaServer#getRegistry()}'s {@code getRenewalSnapshot()}.
+     *
+     * @return the current {@link RenewalSnapshot}
+     */
+    public RenewalSnapshot getRenewalSnapshot() {
+        return eurekaServer.getRegistry().getRenewalSnapshot();
+    }
+
 }
@@ -0,0 +1,66 @@
+package org.kiwiproject.eureka.replay;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A single replayable request parsed from an access log.
+ */
+@Value
+public class AccessLogEntry {
+
+    /**
+     * When the original request was received.
+     */
+    Instant timestamp;
+
+    /**
+     * The Eureka operation the request represents.
+     */
+    ReplayOperation operation;
+
+    /**
+     * The HTTP method of the original request.
+     */
+    String method;
+
+    /**
+     * The path of the original request starting at {@code /v2/apps}, without any query string.
+     */
+    String path;
+
+    /**
+     * The query string of the original request, or null if there was none.
+     */
+    String query;
+
+    /**
+     * Returns the application name from the path, or null for fetches.
+     *
+     * @return the application name
+     */
+    public String getAppName() {
+        var segments = pathSegments();
+        return segments.length > 2 && !isFetch() ? segments[2] : null;
+    }
+
+    /**
+     * Returns the instance ID from the path, or null when the path does not contain one (fetches and registrations).
+     *
+     * @return the instance ID
+     */
+    public String getInstanceId() {
+        var segments = pathSegments();
+        return segments.length > 3 ? segments[3] : null;
+    }
+
+    private boolean isFetch() {
+        return operation == ReplayOperation.FULL_FETCH || operation == ReplayOperation.DELTA_FETCH;
+    }
+
+    private String[] pathSegments() {
+        // path is "/v2/apps/..." so segments are ["", "v2", "apps", app, instance, ...]
+        return path.split("/");
+    }
+}
@@ -0,0 +1,74 @@
+package org.kiwiproject.eureka.replay;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Parses access log lines in the NCSA common or combined format, which is what Jetty's {@code NCSARequestLog},
+ * Tomcat's {@code AccessLogValve} and most reverse proxies in front of Eureka produce by default. For example:
+ * <pre>
+ * 10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] "PUT /eureka/v2/apps/MY-APP/i-123?status=UP HTTP/1.1" 200 0
+ * </pre>
+ * Everything in the request path before {@code /v2/apps} (i.e. the base path of the original server) is dropped, so
+ * that the request can be replayed against a server with a different base path.
+ */
+@UtilityClass
+public class AccessLogParser {
+
+    private static final Pattern NCSA_LINE =
+            Pattern.compile("^\\S+ \\S+ \\S+ \\[([^\\]]+)] \"(\\S+) (\\S+)[^\"]*\".*$");
+
+    private static final DateTimeFormatter NCSA_TIMESTAMP =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+    @SuppressWarnings("java:S1075")
+    private static final String APPS_PATH = "/v2/apps";
+
+    /**
+     * Parses a single access log line.
+     *
+     * @param line the line to parse
+     * @return the parsed entry, or an empty Optional if the line is malformed or is not a replayable Eureka request
+     */
+    public static Optional<AccessLogEntry> parse(String line) {
+        var matcher = NCSA_LINE.matcher(line);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        var timestamp = parseTimestamp(matcher.group(1));
+        if (timestamp == null) {
+            return Optional.empty();
+        }
+
+        var method = matcher.group(2);
+        var uri = matcher.group(3);
+
+        var appsIndex = uri.indexOf(APPS_PATH);
+        if (appsIndex < 0) {
+            return Optional.empty();
+        }
+
+        var queryIndex = uri.indexOf('?', appsIndex);
+        var path = queryIndex < 0 ? uri.substring(appsIndex) : uri.substring(appsIndex, queryIndex);
+        var query = queryIndex < 0 ? null : uri.substring(queryIndex + 1);
+
+        return ReplayOperation.from(method, path)
+                .map(operation -> new AccessLogEntry(timestamp, operation, method, path, query));
+    }
+
+    private static Instant parseTimestamp(String value) {
+        try {
+            return ZonedDateTime.parse(value, NCSA_TIMESTAMP).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package org.kiwiproject.eureka.replay;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.servo.util.ThreadFactories;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates many Eureka clients that each keep their own HTTP/1.1 connection and renew their lease once per think
+ * time, the way real clients send heartbeats. Unlike {@link TrafficReplayEngine}, whose requests share a small
+ * connection pool, this opens one connection per simulated client, so the server sees as many connections as there are
+ * clients. When the think time is longer than the server's idle timeout, the server closes every connection between
+ * renewals, so each renewal needs a new connection.
+ * <p>
+ * Requests are written by hand on plain sockets, since the JDK's HTTP client shares its connections between requests.
+ * Renewals that find their connection closed by the server are retried once on a new connection, as Eureka's own
+ * client does for stale pooled connections.
+ */
+@Slf4j
+class ConnectionChurn {
+
+    private static final int SOCKET_TIMEOUT_MILLIS = 10_000;
+
+    private final String host;
+    private final int port;
+    private final String basePath;
+    private final int threads;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong staleConnections = new AtomicLong();
+    private final LatencyRecorder latencies = new LatencyRecorder();
+
+    /**
+     * The outcome of a {@link ConnectionChurn} run, as seen by the clients.
+     */
+    @Value
+    @Builder
+    static class Result {
+
+        /**
+         * Number of renewals sent, not counting retries on a new connection.
+         */
+        long requests;
+
+        /**
+         * Number of renewals that failed with an exception or a non-2xx response.
+         */
+        long failedRequests;
+
+        /**
+         * Number of connections the clients opened.
+         */
+        long connections;
+
+        /**
+         * Number of renewals that found their connection closed by the server and were retried on a new one.
+         */
+        long staleConnections;
+
+        /**
+         * Time from the first renewal being scheduled to the last one completing.
+         */
+        Duration duration;
+
+        /**
+         * 99th percentile of renewal latency, including the time to open a new connection when one was needed.
+         */
+        Duration p99Latency;
+    }
+
+    /**
+     * Creates clients for the Eureka server at the given base URI.
+     *
+     * @param baseUri the base URI of the Eureka server, e.g. {@code http://localhost:8761/eureka/}
+     * @param threads the number of threads sending renewals; each blocks while one renewal is in flight
+     */
+    ConnectionChurn(URI baseUri, int threads) {
+        Validate.isTrue(threads > 0, "threads must be positive");
+
+        this.host = baseUri.getHost();
+        this.port = baseUri.getPort();
+        this.basePath = StringUtils.removeEnd(baseUri.getPath(), "/");
+        this.threads = threads;
+    }
+
+    /**
+     * Starts one client per given instance and has each renew that instance the given number of times, waiting the
+     * think time between renewals. The clients' first renewals are spread evenly across one think time. Returns once
+     * every client has sent all its renewals and closed its connection.
+     *
+     * @param instances the instances to renew, as {@code appName/instanceId}; they should already be registered
+     * @param rounds    the number of renewals each client sends
+     * @param thinkTime the time each client waits between receiving a response and sending its next renewal
+     * @return the result
+     */
+    Result run(List<String> instances, int rounds, Duration thinkTime) {
+        Validate.isTrue(!instances.isEmpty(), "instances must not be empty");
+        Validate.isTrue(rounds > 0, "rounds must be positive");
+
+        var executor = Executors.newScheduledThreadPool(threads, ThreadFactories.withName("ConnectionChurn-%d"));
+        var remaining = new CountDownLatch(instances.size());
+        var thinkNanos = thinkTime.toNanos();
+        var startNanos = System.nanoTime();
+
+        try {
+            for (var i = 0; i < instances.size(); i++) {
+                var client = new SimulatedClient(renewRequest(instances.get(i)), rounds, thinkNanos, executor,
+                        remaining);
+                executor.schedule(client, thinkNanos * i / instances.size(), TimeUnit.NANOSECONDS);
+            }
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted with {} clients still running", remaining.getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return Result.builder()
+                .requests(requests.get())
+                .failedRequests(failedRequests.get())
+                .connections(connections.get())
+                .staleConnections(staleConnections.get())
+                .duration(Duration.ofNanos(System.nanoTime() - startNanos))
+                .p99Latency(latencies.percentile(99))
+                .build();
+    }
+
+    private byte[] renewRequest(String instance) {
+        var request = "PUT " + basePath + "/v2/apps/" + instance + " HTTP/1.1\r\n"
+                + "Host: " + host + ":" + port + "\r\n"
+                + "Accept: application/json\r\n"
+                + "Content-Length: 0\r\n"
+                + "\r\n";
+        return request.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private final class SimulatedClient implements Runnable {
+
+        private final byte[] request;
+        private final long thinkNanos;
+        private final ScheduledExecutorService executor;
+        private final CountDownLatch remaining;
+        private int roundsLeft;
+
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+
+        SimulatedClient(byte[] request,
+                        int rounds,
+                        long thinkNanos,
+                        ScheduledExecutorService executor,
+                        CountDownLatch remaining) {
+            this.request = request;
+            this.roundsLeft = rounds;
+            this.thinkNanos = thinkNanos;
+            this.executor = executor;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void run() {
+            var sendNanos = System.nanoTime();
+            var status = renew();
+            latencies.record(System.nanoTime() - sendNanos);
+
+            requests.incrementAndGet();
+            if (status < 200 || status > 299) {
+                failedRequests.incrementAndGet();
+            }
+
+            roundsLeft--;
+            if (roundsLeft > 0) {
+                executor.schedule(this, thinkNanos, TimeUnit.NANOSECONDS);
+            } else {
+                close();
+                remaining.countDown();
+            }
+        }
+
+        private int renew() {
+            var reused = nonNull(socket);
+            try {
+                if (!reused) {
+                    connect();
+                }
+
+                out.write(request);
+                out.flush();
+
+                var response = readResponse(in);
+                if (isNull(response)) {
+                    throw new EOFException("Connection closed before response");
+                }
+                if (!response.isKeepAlive()) {
+                    close();
+                }
+                return response.getStatus();
+            } catch (IOException e) {
+                close();
+                if (reused) {
+                    staleConnections.incrementAndGet();
+                    return renew();
+                }
+
+                LOG.debug("Renewal on a new connection failed", e);
+                return -1;
+            }
+        }
+
+        private void connect() throws IOException {
+            socket = new Socket();
+            socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, port), SOCKET_TIMEOUT_MILLIS);
+            connections.incrementAndGet();
+
+            in = new BufferedInputStream(socket.getInputStream());
+            out = socket.getOutputStream();
+        }
+
+        private void close() {
+            if (isNull(socket)) {
+                return;
+            }
+
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOG.trace("Error closing client connection", e);
+            }
+            socket = null;
+            in = null;
+            out = null;
+        }
+    }
+
+    /**
+     * The parts of an HTTP/1.1 response the clients need.
+     */
+    @Value
+    @VisibleForTesting
+    static class Response {
+        int status;
+        boolean keepAlive;
+    }
+
+    /**
+     * Reads one HTTP/1.1 response and skips its body, which may be sized by {@code Content-Length} or chunked.
+     *
+     * @param in the connection's input stream
+     * @return the response, or null if the connection was closed before a response started
+     * @throws IOException if reading fails, or the connection is closed part way through the response
+     */
+    @VisibleForTesting
+    static Response readResponse(InputStream in) throws IOException {
+        var statusLine = readLine(in);
+        if (isNull(statusLine)) {
+            return null;
+        }
+
+        var statusParts = statusLine.split(" ", 3);
+        if (statusParts.length < 2 || !statusParts[0].startsWith("HTTP/")) {
+            throw new IOException("Malformed status line: " + statusLine);
+        }
+        var status = Integer.parseInt(statusParts[1]);
+
+        var contentLength = 0L;
+        var chunked = false;
+        var keepAlive = true;
+        for (var header = requireLine(in); !header.isEmpty(); header = requireLine(in)) {
+            var colon = header.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+
+            var name = header.substring(0, colon).strip().toLowerCase(Locale.ENGLISH);
+            var value = header.substring(colon + 1).strip().toLowerCase(Locale.ENGLISH);
+            switch (name) {
+                case "content-length":
+                    contentLength = Long.parseLong(value);
+                    break;
+                case "transfer-encoding":
+                    chunked = value.contains("chunked");
+                    break;
+                case "connection":
+                    keepAlive = !value.contains("close");
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (chunked) {
+            skipChunks(in);
+        } else {
+            skipFully(in, contentLength);
+        }
+
+        return new Response(status, keepAlive);
+    }
+
+    private static void skipChunks(InputStream in) throws IOException {
+        while (true) {
+            var sizeLine = requireLine(in);
+            var size = Long.parseLong(StringUtils.substringBefore(sizeLine, ";").strip(), 16);
+            if (size == 0) {
+                // Skip any trailers, up to the blank line ending the response
+                String trailer;
+                do {
+                    trailer = requireLine(in);
+                } while (!trailer.isEmpty());
+                return;
+            }
+            skipFully(in, size);
+            requireLine(in);
+        }
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        var remaining = count;
+        while (remaining > 0) {
+            var skipped = in.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (in.read() < 0) {
+                throw new EOFException("Connection closed part way through the response body");
+            } else {
+                remaining--;
+            }
+        }
+    }
+
+    private static String requireLine(InputStream in) throws IOException {
+        var line = readLine(in);
+        if (isNull(line)) {
+            throw new EOFException("Connection closed part way through the response headers");
+        }
+        return line;
+    }
+
+    /**
+     * Reads a CRLF or LF terminated line, without the terminator. Returns null if the stream ends before the line
+     * starts, and throws if it ends part way through the line.
+     */
+    private static String readLine(InputStream in) throws IOException {
+        var line = new ByteArrayOutputStream();
+        int next;
+        while ((next = in.read()) != '\n') {
+            if (next < 0) {
+                if (line.size() == 0) {
+                    return null;
+                }
+                throw new EOFException("Connection closed part way through a line");
+            }
+            line.write(next);
+        }
+
+        return StringUtils.removeEnd(line.toString(StandardCharsets.US_ASCII), "\r");
+    }
+}
@@ -0,0 +1,280 @@
+package org.kiwiproject.eureka.replay;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.kiwiproject.eureka.EmbeddedEurekaServer;
+import org.kiwiproject.eureka.EmbeddedEurekaServerConfig;
+import org.kiwiproject.eureka.EurekaTestHelpers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link EmbeddedEurekaServerConfig} connector settings by running three workloads against a fresh
+ * {@link EmbeddedEurekaServer} for each setting, and printing the requests and accepted connections per second.
+ * <p>
+ * Two workloads replay generated access logs with {@link TrafficReplayEngine} as fast as the server allows, over a
+ * fixed pool of client connections: a fetch-heavy one, where most requests are full or delta fetches with large
+ * responses, and a renewal-heavy one, where almost all requests are small renewals. They measure request throughput;
+ * since the pool is opened once, their connection rate is not meaningful and is not printed.
+ * <p>
+ * The connection churn workload measures connection handling instead. It uses {@link ConnectionChurn} to simulate many
+ * clients, each with its own connection, renewing every think time. With the default think time of 1.5 seconds, the
+ * setting with a 1 second idle timeout closes every connection between renewals, so each renewal opens a new one.
+ * Renewals are sent from as many threads as there are client connections in the other workloads, and always over
+ * HTTP/1.1, which the h2c setting also accepts.
+ * <p>
+ * Run it from the standalone jar:
+ * <pre>
+ * java -cp embedded-eureka-&lt;version&gt;-standalone.jar org.kiwiproject.eureka.replay.ConnectorBenchmark \
+ *     --requests=20000 --instances=500 --client-connections=16 --churn-clients=2000 --churn-rounds=3 \
+ *     --think-time=1500
+ * </pre>
+ * Each churn client holds a socket, so the process needs a file descriptor limit of at least twice the number of
+ * churn clients.
+ * <p>
+ * Like the embedded server itself, THIS SHOULD NOT BE USED IN PRODUCTION!!!
+ */
+public class ConnectorBenchmark {
+
+    /**
+     * The generated workloads.
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Workload {
+
+        /**
+         * 80% fetches, split evenly between full and delta fetches, and 20% renewals.
+         */
+        FETCH_HEAVY(0.8),
+
+        /**
+         * 5% fetches, split evenly between full and delta fetches, and 95% renewals.
+         */
+        RENEWAL_HEAVY(0.05);
+
+        private final double fetchFraction;
+    }
+
+    @AllArgsConstructor
+    private static class ConnectorSetup {
+        final String name;
+        final EmbeddedEurekaServerConfig config;
+        final boolean http2;
+    }
+
+    private static final List<ConnectorSetup> CONNECTOR_SETUPS = List.of(
+            new ConnectorSetup("HTTP/1.1 defaults", EmbeddedEurekaServerConfig.builder().build(), false),
+            new ConnectorSetup("HTTP/1.1 1s idle timeout",
+                    EmbeddedEurekaServerConfig.builder().idleTimeoutMillis(1_000).build(), false),
+            new ConnectorSetup("HTTP/1.1 4 KB output buffer",
+                    EmbeddedEurekaServerConfig.builder().outputBufferSize(4_096).build(), false),
+            new ConnectorSetup("h2c", EmbeddedEurekaServerConfig.builder().http2Cleartext(true).build(), true)
+    );
+
+    private static final Instant LOG_START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final DateTimeFormatter NCSA_TIMESTAMP =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+    /**
+     * The generated logs span one second per renewal of every instance. Replaying them this much faster than logged
+     * means the schedule never holds requests back, so throughput is limited only by the server and connections.
+     */
+    private static final double RATE_MULTIPLIER = 1_000_000;
+
+    private static final String ROW_FORMAT = "%-16s %-28s %9s %7s %12s %12s %14s %10s%n";
+
+    private static final String CHURN_WORKLOAD = "CONNECTION_CHURN";
+
+    private static final int INSTANCES_PER_APP = 10;
+
+    @SuppressWarnings("java:S106")
+    public static void main(String[] args) {
+        var requests = 20_000;
+        var instances = 500;
+        var clientConnections = 16;
+        var churnClients = 2_000;
+        var churnRounds = 3;
+        var thinkTimeMillis = 1_500;
+
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            var name = separator < 0 ? arg : arg.substring(0, separator);
+            var value = separator < 0 ? "" : arg.substring(separator + 1);
+            switch (name) {
+                case "--requests":
+                    requests = Integer.parseInt(value);
+                    break;
+                case "--instances":
+                    instances = Integer.parseInt(value);
+                    break;
+                case "--client-connections":
+                    clientConnections = Integer.parseInt(value);
+                    break;
+                case "--churn-clients":
+                    churnClients = Integer.parseInt(value);
+                    break;
+                case "--churn-rounds":
+                    churnRounds = Integer.parseInt(value);
+                    break;
+                case "--think-time":
+                    thinkTimeMillis = Integer.parseInt(value);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + arg);
+                    System.err.println("Options: --requests=<count> --instances=<count> --client-connections=<count>"
+                            + " --churn-clients=<count> --churn-rounds=<count> --think-time=<ms>");
+                    System.exit(2);
+                    return;
+            }
+        }
+
+        System.out.printf(ROW_FORMAT, "Workload", "Connector", "Requests", "Failed", "Requests/s", "Connections",
+                "Connections/s", "p99 (ms)");
+
+        for (var workload : Workload.values()) {
+            for (var setup : CONNECTOR_SETUPS) {
+                run(workload, setup, requests, instances, clientConnections);
+            }
+        }
+
+        for (var setup : CONNECTOR_SETUPS) {
+            runChurn(setup, churnClients, churnRounds, Duration.ofMillis(thinkTimeMillis), clientConnections);
+        }
+    }
+
+    @SuppressWarnings("java:S106")
+    private static void run(Workload workload,
+                            ConnectorSetup setup,
+                            int requests,
+                            int instances,
+                            int clientConnections) {
+        EurekaTestHelpers.resetStatsMonitor();
+        var server = new EmbeddedEurekaServer(setup.config);
+        try {
+            server.start();
+
+            var baseUri = URI.create("http://localhost:" + server.getEurekaPort() + server.getBasePath());
+            var options = ReplayOptions.builder()
+                    .rateMultiplier(RATE_MULTIPLIER)
+                    .maxConnections(clientConnections)
+                    .http2(setup.http2)
+                    .build();
+
+            var report = new TrafficReplayEngine(baseUri, options).replay(generateLog(workload, requests, instances));
+
+            System.out.printf(ROW_FORMAT,
+                    workload,
+                    setup.name,
+                    report.getTotalRequests(),
+                    report.getFailedRequests(),
+                    String.format("%.0f", report.getActualThroughput()),
+                    server.getConnectionStatistics().getConnectionsTotal(),
+                    "-",
+                    String.format("%.1f", report.getP99Latency().toNanos() / 1_000_000.0));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @SuppressWarnings("java:S106")
+    private static void runChurn(ConnectorSetup setup,
+                                 int clients,
+                                 int rounds,
+                                 Duration thinkTime,
+                                 int clientThreads) {
+        EurekaTestHelpers.resetStatsMonitor();
+        var server = new EmbeddedEurekaServer(setup.config);
+        try {
+            server.start();
+
+            var instances = churnInstances(clients);
+            for (var instance : instances) {
+                var appName = StringUtils.substringBefore(instance, "/");
+                server.getRegistry().registerApplication(appName, StringUtils.substringAfter(instance, "/"),
+                        appName.toLowerCase(Locale.ENGLISH), "UP");
+            }
+
+            var baseUri = URI.create("http://localhost:" + server.getEurekaPort() + server.getBasePath());
+            var connectionsBefore = server.getConnectionStatistics().getConnectionsTotal();
+
+            var result = new ConnectionChurn(baseUri, clientThreads).run(instances, rounds, thinkTime);
+
+            var seconds = result.getDuration().toNanos() / 1_000_000_000.0;
+            var connections = server.getConnectionStatistics().getConnectionsTotal() - connectionsBefore;
+
+            System.out.printf(ROW_FORMAT,
+                    CHURN_WORKLOAD,
+                    setup.name,
+                    result.getRequests(),
+                    result.getFailedRequests(),
+                    String.format("%.0f", result.getRequests() / seconds),
+                    connections,
+                    String.format("%.1f", connections / seconds),
+                    String.format("%.1f", result.getP99Latency().toNanos() / 1_000_000.0));
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Returns the instances renewed by the connection churn workload, as {@code appName/instanceId}.
+     *
+     * @param clients the number of churn clients, each renewing its own instance
+     * @return the instances, spread across applications of ten instances each
+     */
+    @VisibleForTesting
+    static List<String> churnInstances(int clients) {
+        Validate.isTrue(clients > 0, "clients must be positive");
+
+        return IntStream.range(0, clients)
+                .mapToObj(index -> "CHURN-" + (index / INSTANCES_PER_APP) + "/churn-" + index)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Generates an NCSA access log for the given workload. Every instance renews once per logged second, in the same
+     * order each time, and fetches are interleaved at regular intervals according to the workload's fetch fraction.
+     *
+     * @param workload  the workload to generate
+     * @param requests  the number of log lines to generate
+     * @param instances the number of distinct instances to renew, spread across ten applications
+     * @return the log lines
+     */
+    @VisibleForTesting
+    static Stream<String> generateLog(Workload workload, int requests, int instances) {
+        Validate.isTrue(requests > 0, "requests must be positive");
+        Validate.isTrue(instances > 0, "instances must be positive");
+
+        var fetchFraction = workload.getFetchFraction();
+
+        return IntStream.range(0, requests).mapToObj(index -> {
+            var fetchesBefore = (long) (index * fetchFraction);
+            var renewalsBefore = index - fetchesBefore;
+
+            String request;
+            if ((long) ((index + 1) * fetchFraction) > fetchesBefore) {
+                request = fetchesBefore % 2 == 0 ? "GET /eureka/v2/apps" : "GET /eureka/v2/apps/delta";
+            } else {
+                var instance = renewalsBefore % instances;
+                request = "PUT /eureka/v2/apps/BENCH-" + (instance % 10) + "/bench-" + instance;
+            }
+
+            var timestamp = LOG_START.plusSeconds(renewalsBefore / instances);
+            return "127.0.0.1 - - [" + NCSA_TIMESTAMP.format(timestamp) + "] \"" + request + " HTTP/1.1\" 200 0";
+        });
+    }
+}
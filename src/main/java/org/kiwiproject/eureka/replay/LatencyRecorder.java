@@ -0,0 +1,91 @@
+package org.kiwiproject.eureka.replay;
+
+import java.time.Duration;
+
+/**
+ * Thread-safe recorder of nanosecond samples that can report the mean, maximum and percentiles of what it has seen.
+ * <p>
+ * Samples are counted in a fixed set of log-linear buckets, in the style of an HDR histogram: every power of two is
+ * split into 128 equal buckets, so percentiles are accurate to within 1% while memory stays constant (about 60 KB)
+ * however many samples are recorded. The mean and maximum are exact.
+ */
+class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    synchronized void record(long nanos) {
+        var value = Math.max(nanos, 0);
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized Duration mean() {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(total / count);
+    }
+
+    synchronized Duration max() {
+        return Duration.ofNanos(max);
+    }
+
+    /**
+     * Returns the given percentile using the nearest-rank method.
+     *
+     * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+     * @return the sample at that percentile, to within 1%, or zero if nothing was recorded
+     */
+    synchronized Duration percentile(double percentile) {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+
+        var rank = Math.max((long) Math.ceil(percentile / 100.0 * count), 1);
+        var seen = 0L;
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(valueOf(bucket), max));
+            }
+        }
+        return Duration.ofNanos(max);
+    }
+
+    /**
+     * Values below {@link #SUB_BUCKETS} get a bucket each. Larger values are bucketed by their highest set bit and the
+     * {@link #SUB_BUCKET_BITS} bits below it.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        var highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        var shift = highestBit - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the midpoint of the values counted in the given bucket.
+     */
+    private static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        var shift = bucket / SUB_BUCKETS - 1;
+        var lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + ((1L << shift) >> 1);
+    }
+}
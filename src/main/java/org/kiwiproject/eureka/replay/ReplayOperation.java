@@ -0,0 +1,48 @@
+package org.kiwiproject.eureka.replay;
+
+import java.util.Optional;
+
+/**
+ * The Eureka calls that {@link TrafficReplayEngine} knows how to reissue.
+ */
+public enum ReplayOperation {
+
+    REGISTER, RENEW, CANCEL, STATUS_CHANGE, FULL_FETCH, DELTA_FETCH;
+
+    @SuppressWarnings("java:S1075")
+    private static final String APPS_PATH = "/v2/apps";
+
+    /**
+     * Determines the operation for a request given its HTTP method and its path relative to the Eureka base path,
+     * e.g. {@code /v2/apps/MY-APP}.
+     *
+     * @param method       the HTTP method
+     * @param relativePath the path, without any query string, starting at {@code /v2/apps}
+     * @return the operation, or an empty Optional if the request is not one that can be replayed
+     */
+    public static Optional<ReplayOperation> from(String method, String relativePath) {
+        if (APPS_PATH.equals(relativePath) || (APPS_PATH + "/").equals(relativePath)) {
+            return "GET".equals(method) ? Optional.of(FULL_FETCH) : Optional.empty();
+        }
+
+        if (!relativePath.startsWith(APPS_PATH + "/")) {
+            return Optional.empty();
+        }
+
+        var segments = relativePath.substring(APPS_PATH.length() + 1).split("/");
+
+        if (segments.length == 1 && "delta".equals(segments[0])) {
+            return "GET".equals(method) ? Optional.of(DELTA_FETCH) : Optional.empty();
+        } else if (segments.length == 1 && "POST".equals(method)) {
+            return Optional.of(REGISTER);
+        } else if (segments.length == 2 && "PUT".equals(method)) {
+            return Optional.of(RENEW);
+        } else if (segments.length == 2 && "DELETE".equals(method)) {
+            return Optional.of(CANCEL);
+        } else if (segments.length == 3 && "status".equals(segments[2]) && "PUT".equals(method)) {
+            return Optional.of(STATUS_CHANGE);
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,39 @@
+package org.kiwiproject.eureka.replay;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Options controlling how {@link TrafficReplayEngine} replays an access log.
+ */
+@Getter
+@Builder
+public class ReplayOptions {
+
+    /**
+     * Multiplier applied to the original request rate. A value of 1.0 replays with the original timing, 2.0 replays
+     * twice as fast, 0.5 half as fast, and so on. Must be positive.
+     */
+    @Builder.Default
+    private final double rateMultiplier = 1.0;
+
+    /**
+     * The maximum number of requests in flight, and therefore HTTP connections open, at any one time.
+     */
+    @Builder.Default
+    private final int maxConnections = 16;
+
+    /**
+     * Timeout applied to each replayed request.
+     */
+    @Builder.Default
+    private final Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Whether to ask for cleartext HTTP/2 (h2c) via an HTTP/1.1 upgrade. Servers that do not support it keep serving
+     * HTTP/1.1.
+     */
+    private final boolean http2;
+}
@@ -0,0 +1,118 @@
+package org.kiwiproject.eureka.replay;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The outcome of a {@link TrafficReplayEngine} run, comparing what the server achieved with the original schedule.
+ */
+@Value
+@Builder
+public class ReplayReport {
+
+    /**
+     * Number of logged requests that were sent. Logged registrations are not sent, so they are not included; see
+     * {@link #getSkippedRegistrations()}.
+     */
+    long totalRequests;
+
+    /**
+     * Number of sent requests, including registrations made by the engine, that failed with an exception or a non-2xx
+     * response.
+     */
+    long failedRequests;
+
+    /**
+     * Number of logged registrations that were not sent, since their request bodies are not in the log.
+     */
+    long skippedRegistrations;
+
+    /**
+     * Number of registrations the engine sent before the first logged request for each instance, i.e. the number of
+     * distinct instance IDs renewed, cancelled or changed in the log.
+     */
+    long implicitRegistrations;
+
+    /**
+     * Number of renewals that got a 404 and were followed by a registration, as a real Eureka client would do.
+     */
+    long reRegistrations;
+
+    /**
+     * Number of log lines that were skipped because they were malformed or not replayable Eureka requests.
+     */
+    long skippedLines;
+
+    /**
+     * Number of logged requests sent per operation. Never contains {@link ReplayOperation#REGISTER}.
+     */
+    Map<ReplayOperation, Long> requestsByOperation;
+
+    /**
+     * Time between the first and last entry in the original log.
+     */
+    Duration originalDuration;
+
+    /**
+     * Time the replay was scheduled to take, i.e. the original duration divided by the rate multiplier.
+     */
+    Duration scheduledDuration;
+
+    /**
+     * Time the replay actually took, from the first request being sent until the last response was received.
+     */
+    Duration actualDuration;
+
+    /**
+     * Rate of logged requests the schedule called for, in requests per second, based on {@link #getTotalRequests()}.
+     */
+    double scheduledThroughput;
+
+    /**
+     * Rate of logged requests actually achieved, in requests per second, based on {@link #getTotalRequests()}. The
+     * registrations made by the engine are sent on top of these.
+     */
+    double actualThroughput;
+
+    /**
+     * Mean latency of the logged requests that were sent. The percentiles and maximum below cover the same requests.
+     */
+    Duration meanLatency;
+    Duration p50Latency;
+    Duration p90Latency;
+    Duration p99Latency;
+    Duration maxLatency;
+
+    /**
+     * Mean latency of the registrations made by the engine, both implicit registrations and re-registrations.
+     */
+    Duration meanRegistrationLatency;
+
+    /**
+     * Maximum latency of the registrations made by the engine.
+     */
+    Duration maxRegistrationLatency;
+
+    /**
+     * Mean delay between when a request was scheduled to be sent and when it was sent. This grows when the server,
+     * or the connection limit, cannot keep up with the original schedule.
+     */
+    Duration meanScheduleLag;
+
+    /**
+     * Maximum delay between when a request was scheduled to be sent and when it was sent.
+     */
+    Duration maxScheduleLag;
+
+    /**
+     * Total number of requests sent, including the registrations made by the engine.
+     *
+     * @return logged requests sent, implicit registrations and re-registrations
+     */
+    public long getSentRequests() {
+        return totalRequests + implicitRegistrations + reRegistrations;
+    }
+}
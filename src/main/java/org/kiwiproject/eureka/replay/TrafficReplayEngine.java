@@ -0,0 +1,349 @@
+package org.kiwiproject.eureka.replay;
+
+import com.netflix.servo.util.ThreadFactories;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.kiwiproject.eureka.RegistrationJson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Replays Eureka traffic recorded in an access log (see {@link AccessLogParser} for the supported format) against a
+ * running Eureka server, typically an {@link org.kiwiproject.eureka.EmbeddedEurekaServer}.
+ * <p>
+ * The log is streamed and latencies are recorded in fixed-size histograms, so arbitrarily large logs can be replayed
+ * in constant memory, apart from the set of instance IDs seen so far and the entries of the second being read. Each
+ * entry is sent at its original offset from the first entry, divided by {@link ReplayOptions#getRateMultiplier()}. At
+ * most {@link ReplayOptions#getMaxConnections()} requests are in flight at once; when the server cannot keep up,
+ * requests are sent late and the delay is reported as schedule lag in the {@link ReplayReport}.
+ * <p>
+ * NCSA timestamps only have one-second resolution, so the log does not say when within a second each request arrived.
+ * Rather than sending all of a second's entries in one burst at its start, the engine spaces them evenly across that
+ * second, in log order. Bursts shorter than a second in the original traffic are therefore smoothed out, and the
+ * replay is only faithful to the original timing down to the second.
+ * <p>
+ * Access logs do not contain request bodies, and the instance ID of a registration is not part of its request path.
+ * Registration entries are therefore not sent as logged. Instead, the first time a renewal, status change or
+ * cancellation for an instance ID appears, the engine registers a minimal instance with that ID just before sending
+ * it. The registry thus holds exactly the instances seen in the log, each renewed as often as in the original
+ * traffic, so the server's expected renewal count and self-preservation behave as they did originally. If a renewal
+ * still gets a 404, e.g. because the instance was cancelled earlier in the log, the engine registers the instance
+ * again, just like a real Eureka client does. These registrations are reported separately from the logged requests
+ * (see {@link ReplayReport#getImplicitRegistrations()} and {@link ReplayReport#getReRegistrations()}), and the
+ * throughput compared with the original schedule only counts logged requests that were sent.
+ */
+@Slf4j
+public class TrafficReplayEngine {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String baseUrl;
+    private final ReplayOptions options;
+    private final HttpClient httpClient;
+
+    /**
+     * Creates a new engine that replays against the Eureka server at the given base URI.
+     *
+     * @param baseUri the base URI of the Eureka server, e.g. {@code http://localhost:8761/eureka/}
+     * @param options the replay options
+     */
+    public TrafficReplayEngine(URI baseUri, ReplayOptions options) {
+        Validate.isTrue(options.getRateMultiplier() > 0, "rateMultiplier must be positive");
+        Validate.isTrue(options.getMaxConnections() > 0, "maxConnections must be positive");
+
+        this.baseUrl = StringUtils.removeEnd(baseUri.toString(), "/");
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(options.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getRequestTimeout())
+                .build();
+    }
+
+    /**
+     * Replays the given access log file.
+     *
+     * @param accessLog path to the access log
+     * @return the report for the replay
+     * @throws UncheckedIOException if the log cannot be read
+     */
+    public ReplayReport replay(Path accessLog) {
+        try (var lines = Files.lines(accessLog)) {
+            return replay(lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read access log " + accessLog, e);
+        }
+    }
+
+    /**
+     * Replays the given access log lines.
+     *
+     * @param lines the access log lines, in the order they were logged
+     * @return the report for the replay
+     */
+    public ReplayReport replay(Stream<String> lines) {
+        var executor = Executors.newFixedThreadPool(options.getMaxConnections(),
+                ThreadFactories.withName("EurekaReplay-%d"));
+        try {
+            return new ReplayRun(executor).replay(lines);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private class ReplayRun {
+
+        private final ExecutorService executor;
+        private final Semaphore inFlight = new Semaphore(options.getMaxConnections());
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private final LatencyRecorder registrationLatencies = new LatencyRecorder();
+        private final LatencyRecorder scheduleLags = new LatencyRecorder();
+        private final AtomicLong failedRequests = new AtomicLong();
+        private final AtomicLong implicitRegistrations = new AtomicLong();
+        private final AtomicLong reRegistrations = new AtomicLong();
+
+        // Only used by the thread reading the log
+        private final Set<String> seenInstances = new HashSet<>();
+        private final Map<ReplayOperation, Long> requestsByOperation = new EnumMap<>(ReplayOperation.class);
+        private long totalRequests;
+        private long skippedRegistrations;
+        private long startNanos;
+
+        ReplayRun(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        ReplayReport replay(Stream<String> lines) {
+            var skippedLines = 0L;
+            var stopped = false;
+            Instant firstTimestamp = null;
+            Instant lastTimestamp = null;
+            var sameSecondEntries = new ArrayList<AccessLogEntry>();
+
+            var iterator = lines.iterator();
+            while (iterator.hasNext() && !Thread.currentThread().isInterrupted()) {
+                var parsed = AccessLogParser.parse(iterator.next());
+                if (parsed.isEmpty()) {
+                    skippedLines++;
+                    continue;
+                }
+
+                var entry = parsed.get();
+                if (firstTimestamp == null) {
+                    firstTimestamp = entry.getTimestamp();
+                    lastTimestamp = firstTimestamp;
+                    startNanos = System.nanoTime();
+                } else if (entry.getTimestamp().isAfter(lastTimestamp)) {
+                    lastTimestamp = entry.getTimestamp();
+                }
+
+                if (!sameSecondEntries.isEmpty()
+                        && !entry.getTimestamp().equals(sameSecondEntries.get(0).getTimestamp())) {
+                    stopped = !dispatchSpread(sameSecondEntries, firstTimestamp);
+                    sameSecondEntries.clear();
+                    if (stopped) {
+                        break;
+                    }
+                }
+
+                sameSecondEntries.add(entry);
+            }
+
+            if (!stopped && !sameSecondEntries.isEmpty()) {
+                dispatchSpread(sameSecondEntries, firstTimestamp);
+            }
+
+            awaitInFlight();
+            var actualDuration = Duration.ofNanos(totalRequests == 0 ? 0 : System.nanoTime() - startNanos);
+
+            var originalDuration = firstTimestamp == null
+                    ? Duration.ZERO
+                    : Duration.between(firstTimestamp, lastTimestamp);
+            var scheduledDuration = Duration.ofNanos((long) (originalDuration.toNanos() / options.getRateMultiplier()));
+
+            return ReplayReport.builder()
+                    .totalRequests(totalRequests)
+                    .failedRequests(failedRequests.get())
+                    .skippedRegistrations(skippedRegistrations)
+                    .implicitRegistrations(implicitRegistrations.get())
+                    .reRegistrations(reRegistrations.get())
+                    .skippedLines(skippedLines)
+                    .requestsByOperation(Map.copyOf(requestsByOperation))
+                    .originalDuration(originalDuration)
+                    .scheduledDuration(scheduledDuration)
+                    .actualDuration(actualDuration)
+                    .scheduledThroughput(perSecond(totalRequests, scheduledDuration))
+                    .actualThroughput(perSecond(totalRequests, actualDuration))
+                    .meanLatency(latencies.mean())
+                    .p50Latency(latencies.percentile(50))
+                    .p90Latency(latencies.percentile(90))
+                    .p99Latency(latencies.percentile(99))
+                    .maxLatency(latencies.max())
+                    .meanRegistrationLatency(registrationLatencies.mean())
+                    .maxRegistrationLatency(registrationLatencies.max())
+                    .meanScheduleLag(scheduleLags.mean())
+                    .maxScheduleLag(scheduleLags.max())
+                    .build();
+        }
+
+        /**
+         * Dispatches entries that share a timestamp, spacing them evenly across that second since the log does not
+         * say when within the second each one arrived.
+         */
+        private boolean dispatchSpread(List<AccessLogEntry> entries, Instant firstTimestamp) {
+            var offsetNanos = Duration.between(firstTimestamp, entries.get(0).getTimestamp()).toNanos();
+            var spacingNanos = NANOS_PER_SECOND / entries.size();
+
+            for (var i = 0; i < entries.size(); i++) {
+                var entryOffsetNanos = offsetNanos + i * spacingNanos;
+                var scheduledNanos = startNanos + (long) (entryOffsetNanos / options.getRateMultiplier());
+                if (!dispatch(entries.get(i), scheduledNanos)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean dispatch(AccessLogEntry entry, long scheduledNanos) {
+            if (entry.getOperation() == ReplayOperation.REGISTER) {
+                // Not sent; instances are registered before their first request instead, see the class documentation
+                skippedRegistrations++;
+                return true;
+            }
+
+            try {
+                var waitNanos = scheduledNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while replaying access log; stopping replay");
+                return false;
+            }
+
+            var registerFirst = entry.getInstanceId() != null
+                    && seenInstances.add(entry.getAppName() + "/" + entry.getInstanceId());
+
+            executor.execute(() -> {
+                try {
+                    send(entry, scheduledNanos, registerFirst);
+                } finally {
+                    inFlight.release();
+                }
+            });
+
+            totalRequests++;
+            requestsByOperation.merge(entry.getOperation(), 1L, Long::sum);
+            return true;
+        }
+
+        private void awaitInFlight() {
+            try {
+                inFlight.acquire(options.getMaxConnections());
+                inFlight.release(options.getMaxConnections());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while waiting for in-flight replay requests to complete");
+            }
+        }
+
+        private int register(AccessLogEntry entry) {
+            var sendNanos = System.nanoTime();
+            var status = execute(registerRequest(entry.getAppName(), entry.getInstanceId()));
+            registrationLatencies.record(System.nanoTime() - sendNanos);
+            return status;
+        }
+
+        private void send(AccessLogEntry entry, long scheduledNanos, boolean registerFirst) {
+            scheduleLags.record(Math.max(0, System.nanoTime() - scheduledNanos));
+            if (registerFirst) {
+                implicitRegistrations.incrementAndGet();
+                var registerStatus = register(entry);
+                if (registerStatus < 200 || registerStatus > 299) {
+                    failedRequests.incrementAndGet();
+                }
+            }
+
+            var sendNanos = System.nanoTime();
+            var status = execute(requestFor(entry));
+            latencies.record(System.nanoTime() - sendNanos);
+
+            if (entry.getOperation() == ReplayOperation.RENEW && status == 404) {
+                reRegistrations.incrementAndGet();
+                status = register(entry);
+            }
+
+            if (status < 200 || status > 299) {
+                failedRequests.incrementAndGet();
+            }
+        }
+
+        private int execute(HttpRequest request) {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            } catch (Exception e) {
+                LOG.debug("Replayed request {} {} failed", request.method(), request.uri(), e);
+                return -1;
+            }
+        }
+
+        private HttpRequest requestFor(AccessLogEntry entry) {
+            switch (entry.getOperation()) {
+                case FULL_FETCH:
+                case DELTA_FETCH:
+                    return newRequest(entry).header("Accept", "application/json").GET().build();
+
+                case CANCEL:
+                    return newRequest(entry).DELETE().build();
+
+                default:
+                    return newRequest(entry).PUT(HttpRequest.BodyPublishers.noBody()).build();
+            }
+        }
+
+        private HttpRequest.Builder newRequest(AccessLogEntry entry) {
+            var query = entry.getQuery() == null ? "" : "?" + entry.getQuery();
+            return HttpRequest.newBuilder(URI.create(baseUrl + entry.getPath() + query))
+                    .timeout(options.getRequestTimeout());
+        }
+
+        private HttpRequest registerRequest(String appName, String instanceId) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/v2/apps/" + appName))
+                    .timeout(options.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(RegistrationJson.forInstance(appName, instanceId)))
+                    .build();
+        }
+    }
+
+    private static double perSecond(long count, Duration duration) {
+        return duration.isZero() ? 0.0 : count / (duration.toNanos() / NANOS_PER_SECOND);
+    }
+}
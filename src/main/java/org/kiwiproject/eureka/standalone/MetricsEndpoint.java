@@ -0,0 +1,205 @@
+package org.kiwiproject.eureka.standalone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.eureka.util.EurekaMonitors;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.kiwiproject.eureka.EmbeddedEurekaServer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves request and registry metrics for an {@link EmbeddedEurekaServer} as JSON from {@code GET /metrics} on a
+ * separate port, so that scraping metrics does not show up in the Eureka server's own request statistics.
+ * <p>
+ * The response contains:
+ * <ul>
+ *     <li>{@code registry}: the number of registered applications and instances</li>
+ *     <li>{@code requests}: request counts, the request rate since the previous scrape and since the server started,
+ *     request latency (mean, standard deviation, max) and response counts by status class</li>
+ *     <li>{@code connections}: connections opened, the connection rate since the previous scrape, open connections,
+ *     mean connection duration and mean requests per connection, which show how well keep-alive and HTTP/2 are
+ *     reusing connections</li>
+ *     <li>{@code eureka}: Eureka's own operation counters (register, renew, cancel, fetches, expirations, etc.)</li>
+ * </ul>
+ */
+@Slf4j
+public class MetricsEndpoint {
+
+    @SuppressWarnings("java:S1075")
+    static final String METRICS_PATH = "/metrics";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final EmbeddedEurekaServer eurekaServer;
+    private final Server metricsServer;
+    private final ServerConnector connector;
+
+    private long lastScrapeRequests;
+    private long lastScrapeConnections;
+    private long lastScrapeNanos = System.nanoTime();
+
+    /**
+     * Creates a new metrics endpoint.
+     *
+     * @param eurekaServer the server to report on
+     * @param port         the port to serve metrics on, or zero to let Jetty pick an available port
+     */
+    public MetricsEndpoint(EmbeddedEurekaServer eurekaServer, int port) {
+        this.eurekaServer = eurekaServer;
+        this.metricsServer = new Server();
+
+        connector = new ServerConnector(metricsServer);
+        connector.setPort(port);
+        metricsServer.addConnector(connector);
+        metricsServer.setHandler(new MetricsHandler());
+    }
+
+    /**
+     * Starts serving metrics.
+     */
+    public void start() {
+        try {
+            metricsServer.start();
+        } catch (Exception e) {
+            LOG.error("Error starting metrics endpoint", e);
+            throw new IllegalStateException("Metrics endpoint has not been started", e);
+        }
+    }
+
+    /**
+     * Stops serving metrics.
+     */
+    public void stop() {
+        try {
+            metricsServer.stop();
+        } catch (Exception e) {
+            LOG.error("Error stopping metrics endpoint", e);
+        }
+    }
+
+    /**
+     * Retrieves the port that metrics are served on.
+     *
+     * @return the metrics port
+     */
+    public int getPort() {
+        return connector.getLocalPort();
+    }
+
+    /**
+     * Captures the current metrics. Each call resets the window used for the "since last scrape" request rate.
+     *
+     * @return the metrics, keyed by section then by metric name
+     */
+    public synchronized Map<String, Map<String, Object>> snapshot() {
+        var metrics = new LinkedHashMap<String, Map<String, Object>>();
+        var nowNanos = System.nanoTime();
+        var secondsSinceLastScrape = (nowNanos - lastScrapeNanos) / NANOS_PER_SECOND;
+
+        metrics.put("registry", registryMetrics());
+        metrics.put("requests", requestMetrics(secondsSinceLastScrape));
+        metrics.put("connections", connectionMetrics(secondsSinceLastScrape));
+        metrics.put("eureka", eurekaMetrics());
+
+        lastScrapeNanos = nowNanos;
+        return metrics;
+    }
+
+    private Map<String, Object> registryMetrics() {
+        var applications = eurekaServer.getRegistry().registeredApplications();
+
+        var registry = new LinkedHashMap<String, Object>();
+        registry.put("applications", applications.size());
+        registry.put("instances", applications.stream()
+                .mapToInt(application -> application.getInstances().size())
+                .sum());
+        return registry;
+    }
+
+    private Map<String, Object> requestMetrics(double secondsSinceLastScrape) {
+        var statistics = eurekaServer.getRequestStatistics();
+
+        long totalRequests = statistics.getRequests();
+        var secondsSinceStatsReset = statistics.getStatsOnMs() / 1000.0;
+
+        var requests = new LinkedHashMap<String, Object>();
+        requests.put("total", totalRequests);
+        requests.put("active", statistics.getRequestsActive());
+        requests.put("activeMax", statistics.getRequestsActiveMax());
+        requests.put("ratePerSecond", rate(totalRequests - lastScrapeRequests, secondsSinceLastScrape));
+        requests.put("meanRatePerSecond", rate(totalRequests, secondsSinceStatsReset));
+        requests.put("latencyMeanMillis", statistics.getRequestTimeMean());
+        requests.put("latencyStdDevMillis", statistics.getRequestTimeStdDev());
+        requests.put("latencyMaxMillis", statistics.getRequestTimeMax());
+        requests.put("responses1xx", statistics.getResponses1xx());
+        requests.put("responses2xx", statistics.getResponses2xx());
+        requests.put("responses3xx", statistics.getResponses3xx());
+        requests.put("responses4xx", statistics.getResponses4xx());
+        requests.put("responses5xx", statistics.getResponses5xx());
+
+        lastScrapeRequests = totalRequests;
+
+        return requests;
+    }
+
+    private Map<String, Object> connectionMetrics(double secondsSinceLastScrape) {
+        var statistics = eurekaServer.getConnectionStatistics();
+
+        var totalConnections = statistics.getConnectionsTotal();
+        var totalRequests = eurekaServer.getRequestStatistics().getRequests();
+
+        var connections = new LinkedHashMap<String, Object>();
+        connections.put("total", totalConnections);
+        connections.put("open", statistics.getConnections());
+        connections.put("openMax", statistics.getConnectionsMax());
+        connections.put("ratePerSecond", rate(totalConnections - lastScrapeConnections, secondsSinceLastScrape));
+        connections.put("durationMeanMillis", statistics.getConnectionDurationMean());
+        var requestsPerConnection = totalConnections > 0 ? (double) totalRequests / totalConnections : 0.0;
+        connections.put("requestsPerConnection", requestsPerConnection);
+
+        lastScrapeConnections = totalConnections;
+
+        return connections;
+    }
+
+    private static Map<String, Object> eurekaMetrics() {
+        var eureka = new LinkedHashMap<String, Object>();
+        for (var monitor : EurekaMonitors.values()) {
+            eureka.put(monitor.name(), monitor.getCount());
+        }
+        return eureka;
+    }
+
+    private static double rate(long count, double seconds) {
+        return seconds > 0 ? count / seconds : 0.0;
+    }
+
+    private class MetricsHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target,
+                           Request baseRequest,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+
+            if (!METRICS_PATH.equals(target) || !"GET".equals(request.getMethod())) {
+                return;
+            }
+
+            baseRequest.setHandled(true);
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType("application/json");
+            MAPPER.writeValue(response.getOutputStream(), snapshot());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.kiwiproject.eureka.standalone;
+
+import static java.util.Objects.nonNull;
+
+import com.netflix.servo.util.ThreadFactories;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.kiwiproject.eureka.EmbeddedEurekaServer;
+import org.kiwiproject.eureka.RegistryFixtures;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an {@link EmbeddedEurekaServer} as a standalone process, e.g. as a local stand-in for a Eureka cluster when
+ * load testing services. Run {@code java -jar embedded-eureka-<version>-standalone.jar --help} for the options.
+ * <p>
+ * Like the embedded server itself, THIS SHOULD NOT BE USED IN PRODUCTION!!!
+ */
+@Slf4j
+public class StandaloneEurekaServer {
+
+    @Getter
+    private final EmbeddedEurekaServer eurekaServer;
+
+    @Getter
+    private final MetricsEndpoint metricsEndpoint;
+
+    private final ScheduledExecutorService fixtureRenewal;
+
+    private StandaloneEurekaServer(EmbeddedEurekaServer eurekaServer,
+                                   MetricsEndpoint metricsEndpoint,
+                                   ScheduledExecutorService fixtureRenewal) {
+        this.eurekaServer = eurekaServer;
+        this.metricsEndpoint = metricsEndpoint;
+        this.fixtureRenewal = fixtureRenewal;
+    }
+
+    @SuppressWarnings("java:S106")
+    public static void main(String[] args) {
+        StandaloneOptions options;
+        try {
+            options = StandaloneOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(StandaloneOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (options.isHelp()) {
+            System.out.println(StandaloneOptions.USAGE);
+            return;
+        }
+
+        StandaloneEurekaServer standaloneServer;
+        try {
+            standaloneServer = start(options);
+        } catch (RuntimeException e) {
+            LOG.error("Unable to start standalone Eureka server", e);
+            System.err.println("Unable to start standalone Eureka server: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(standaloneServer::stop, "EurekaShutdown"));
+    }
+
+    /**
+     * Starts the Eureka server (and the metrics endpoint, if enabled), then loads the registry fixture, if any.
+     * <p>
+     * Fixture instances are then renewed at the configured interval, as their clients would. Otherwise they would
+     * raise the number of renewals Eureka expects without ever renewing, keeping it in self-preservation so that real
+     * services that die are never evicted.
+     * <p>
+     * If any step fails, whatever was already started is stopped before the exception is rethrown, so that no
+     * non-daemon Jetty threads are left behind to keep the JVM alive.
+     *
+     * @param options the options to start with
+     * @return the running server
+     * @throws RuntimeException if the server or metrics endpoint cannot be started, or the fixture cannot be loaded
+     */
+    public static StandaloneEurekaServer start(StandaloneOptions options) {
+        var eurekaServer = new EmbeddedEurekaServer(options.toServerConfig());
+        MetricsEndpoint metricsEndpoint = null;
+        ScheduledExecutorService fixtureRenewal = null;
+
+        try {
+            eurekaServer.start();
+            LOG.info("Eureka started at http://localhost:{}{}", eurekaServer.getEurekaPort(), options.getBasePath());
+
+            if (options.isMetricsEnabled()) {
+                metricsEndpoint = new MetricsEndpoint(eurekaServer, options.getMetricsPort());
+                metricsEndpoint.start();
+                LOG.info("Metrics available at http://localhost:{}{}",
+                        metricsEndpoint.getPort(), MetricsEndpoint.METRICS_PATH);
+            }
+
+            if (nonNull(options.getFixture())) {
+                RegistryFixtures.load(eurekaServer.getRegistry(), options.getFixture(), options.getFixtureProfile(),
+                        options.getFixtureRecentChanges());
+            }
+
+            if (options.isFixtureRenewalEnabled()) {
+                fixtureRenewal = startFixtureRenewal(eurekaServer, options);
+            }
+        } catch (RuntimeException e) {
+            new StandaloneEurekaServer(eurekaServer, metricsEndpoint, fixtureRenewal).stop();
+            throw e;
+        }
+
+        return new StandaloneEurekaServer(eurekaServer, metricsEndpoint, fixtureRenewal);
+    }
+
+    private static ScheduledExecutorService startFixtureRenewal(EmbeddedEurekaServer eurekaServer,
+                                                                StandaloneOptions options) {
+        var executor = Executors.newSingleThreadScheduledExecutor(ThreadFactories.withName("FixtureRenewal-%d"));
+        var interval = options.getFixtureRenewalIntervalMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                RegistryFixtures.renew(eurekaServer.getRegistry(), options.getFixture());
+            } catch (Exception e) {
+                // Don't let a failed renewal cancel the scheduled task
+                LOG.warn("Unable to renew registry fixture instances", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    /**
+     * Stops renewing fixture instances, then stops the metrics endpoint, if running, and the Eureka server.
+     */
+    public void stop() {
+        if (nonNull(fixtureRenewal)) {
+            fixtureRenewal.shutdownNow();
+        }
+        if (nonNull(metricsEndpoint)) {
+            metricsEndpoint.stop();
+        }
+        eurekaServer.stop();
+    }
+}
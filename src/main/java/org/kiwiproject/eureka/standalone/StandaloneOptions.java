@@ -0,0 +1,227 @@
+package org.kiwiproject.eureka.standalone;
+
+import static java.util.Objects.nonNull;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.kiwiproject.eureka.EmbeddedEurekaServerConfig;
+import org.kiwiproject.eureka.RegistrationProfile;
+import org.kiwiproject.eureka.RegistryFixtures;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line options for {@link StandaloneEurekaServer}. Options are given as {@code --name=value}; see
+ * {@link #USAGE} for the full list.
+ */
+@Getter
+@Builder
+public class StandaloneOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar embedded-eureka-<version>-standalone.jar [options]",
+            "",
+            "Options:",
+            "  --port=<port>               Eureka port (default: 8761)",
+            "  --base-path=<path>          Eureka context path (default: /eureka)",
+            "  --min-threads=<count>       Minimum Jetty request threads (default: 8)",
+            "  --max-threads=<count>       Maximum Jetty request threads (default: 200)",
+            "  --thread-idle-timeout=<ms>  Idle time before extra threads are stopped (default: 60000)",
+            "  --h2c                       Also accept cleartext HTTP/2 (prior knowledge or Upgrade: h2c)",
+            "  --idle-timeout=<ms>         Idle time before keep-alive connections are closed (default: 3600000)",
+            "  --max-connections=<count>   Maximum open connections, or 0 or -1 for unlimited (default: -1)",
+            "  --accept-queue-size=<count> Pending connection queue size, or 0 for the OS default (default: 0)",
+            "  --output-buffer-size=<b>    Response output buffer size in bytes (default: 32768)",
+            "  --fixture=<file>            Registry fixture to load at startup (see RegistryFixtures)",
+            "  --fixture-profile=<name>    STANDARD or COMPACT registrations for the fixture (default: STANDARD)",
+            "  --fixture-clear-recent-changes",
+            "                              Clear the delta queue after loading the fixture, so delta fetches do not",
+            "                              return every fixture instance (drops changes made by other clients too)",
+            "  --fixture-renewal=<ms>      Interval between renewals of fixture instances, or 0 to never renew them",
+            "                              (default: 30000); unrenewed fixtures keep Eureka in self-preservation",
+            "  --metrics-port=<port>       Port for GET /metrics, or -1 to disable (default: 8762)",
+            "  --help                      Print this message");
+
+    @Builder.Default
+    private final int port = 8761;
+
+    @Builder.Default
+    private final String basePath = "/eureka";
+
+    @Builder.Default
+    private final int minThreads = 8;
+
+    @Builder.Default
+    private final int maxThreads = 200;
+
+    @Builder.Default
+    private final int threadIdleTimeoutMillis = 60_000;
+
+    private final boolean http2Cleartext;
+
+    @Builder.Default
+    private final long idleTimeoutMillis = TimeUnit.HOURS.toMillis(1L);
+
+    @Builder.Default
+    private final int maxConnections = -1;
+
+    private final int acceptQueueSize;
+
+    @Builder.Default
+    private final int outputBufferSize = 32_768;
+
+    private final Path fixture;
+
+    @Builder.Default
+    private final RegistrationProfile fixtureProfile = RegistrationProfile.STANDARD;
+
+    @Builder.Default
+    private final RegistryFixtures.RecentChanges fixtureRecentChanges = RegistryFixtures.RecentChanges.KEEP;
+
+    @Builder.Default
+    private final int fixtureRenewalIntervalMillis = 30_000;
+
+    @Builder.Default
+    private final int metricsPort = 8762;
+
+    private final boolean help;
+
+    /**
+     * Parses command line arguments.
+     *
+     * @param args the arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an argument is unknown, is missing its value, or has an invalid value
+     */
+    public static StandaloneOptions parse(String... args) {
+        var builder = StandaloneOptions.builder();
+
+        for (var arg : args) {
+            if ("--help".equals(arg)) {
+                builder.help(true);
+                continue;
+            }
+
+            if ("--h2c".equals(arg)) {
+                builder.http2Cleartext(true);
+                continue;
+            }
+
+            if ("--fixture-clear-recent-changes".equals(arg)) {
+                builder.fixtureRecentChanges(RegistryFixtures.RecentChanges.CLEAR);
+                continue;
+            }
+
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+
+            var name = arg.substring(2, separator);
+            var value = arg.substring(separator + 1);
+
+            switch (name) {
+                case "port":
+                    builder.port(parseInt(name, value));
+                    break;
+                case "base-path":
+                    builder.basePath(value);
+                    break;
+                case "min-threads":
+                    builder.minThreads(parseInt(name, value));
+                    break;
+                case "max-threads":
+                    builder.maxThreads(parseInt(name, value));
+                    break;
+                case "thread-idle-timeout":
+                    builder.threadIdleTimeoutMillis(parseInt(name, value));
+                    break;
+                case "idle-timeout":
+                    builder.idleTimeoutMillis(parseInt(name, value));
+                    break;
+                case "max-connections":
+                    builder.maxConnections(parseInt(name, value));
+                    break;
+                case "accept-queue-size":
+                    builder.acceptQueueSize(parseInt(name, value));
+                    break;
+                case "output-buffer-size":
+                    builder.outputBufferSize(parseInt(name, value));
+                    break;
+                case "fixture":
+                    builder.fixture(Path.of(value));
+                    break;
+                case "fixture-profile":
+                    builder.fixtureProfile(parseProfile(value));
+                    break;
+                case "fixture-renewal":
+                    builder.fixtureRenewalIntervalMillis(parseInt(name, value));
+                    break;
+                case "metrics-port":
+                    builder.metricsPort(parseInt(name, value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option --" + name + " requires an integer but got: " + value, e);
+        }
+    }
+
+    private static RegistrationProfile parseProfile(String value) {
+        try {
+            return RegistrationProfile.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Option --fixture-profile requires STANDARD or COMPACT but got: " + value, e);
+        }
+    }
+
+    /**
+     * Whether fixture instances should be renewed periodically.
+     *
+     * @return true if there is a fixture and the renewal interval is positive
+     */
+    public boolean isFixtureRenewalEnabled() {
+        return nonNull(fixture) && fixtureRenewalIntervalMillis > 0;
+    }
+
+    /**
+     * Whether the metrics endpoint should be started.
+     *
+     * @return true unless the metrics port is negative
+     */
+    public boolean isMetricsEnabled() {
+        return metricsPort >= 0;
+    }
+
+    /**
+     * Converts these options into the configuration for the Eureka server.
+     *
+     * @return the server configuration
+     */
+    public EmbeddedEurekaServerConfig toServerConfig() {
+        return EmbeddedEurekaServerConfig.builder()
+                .port(port)
+                .basePath(basePath)
+                .minThreads(minThreads)
+                .maxThreads(maxThreads)
+                .threadIdleTimeoutMillis(threadIdleTimeoutMillis)
+                .http2Cleartext(http2Cleartext)
+                .idleTimeoutMillis(idleTimeoutMillis)
+                .maxConnections(maxConnections)
+                .acceptQueueSize(acceptQueueSize)
+                .outputBufferSize(outputBufferSize)
+                .build();
+    }
+}
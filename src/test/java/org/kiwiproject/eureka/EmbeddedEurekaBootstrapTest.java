@@ -1,6 +1,7 @@
 package org.kiwiproject.eureka;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.kiwiproject.eureka.junit.EurekaServerExtension;
 
+import java.time.Instant;
+
 @DisplayName("EmbeddedEurekaBootstrap")
 class EmbeddedEurekaBootstrapTest {
 
@@ -74,4 +77,86 @@ class EmbeddedEurekaBootstrapTest {
             assertThat(EUREKA.getEurekaServer().getRegistry().getHeartbeatCount()).isZero();
         }
     }
+
+    @Nested
+    class RegisterApplicationWithProfile {
+
+        @Test
+        void shouldRegister_WithStandardProfile() {
+            EUREKA.getEurekaServer().getRegistry()
+                    .registerApplication("APPID", "INSTANCEID", "VIP", "UP", RegistrationProfile.STANDARD);
+
+            var instance = EUREKA.getRegisteredApplication("APPID").getByInstanceId("INSTANCEID");
+            assertThat(instance.getMetadata()).isEmpty();
+            assertThatCode(() -> instance.getMetadata().put("key", "value")).doesNotThrowAnyException();
+        }
+
+        @Test
+        void shouldRegister_WithCompactProfile() {
+            EUREKA.getEurekaServer().getRegistry()
+                    .registerApplication("APPID", "INSTANCEID", "VIP", "UP", RegistrationProfile.COMPACT);
+
+            var instance = EUREKA.getRegisteredApplication("APPID").getByInstanceId("INSTANCEID");
+            assertThat(instance.getVIPAddress()).isEqualTo("VIP");
+            assertThat(instance.getMetadata()).isEmpty();
+        }
+    }
+
+    @Nested
+    class ClearRecentChanges {
+
+        @Test
+        void shouldClearRecentChanges_ButKeepRegistrations() {
+            var registry = EUREKA.getEurekaServer().getRegistry();
+            for (var i = 0; i < 50; i++) {
+                registry.registerApplication("APPID", "INSTANCEID-" + i, "VIP", "UP");
+            }
+            var before = RegistryFootprint.measure(registry);
+
+            registry.clearRecentChanges();
+            var after = RegistryFootprint.measure(registry);
+
+            assertThat(after.getRecentChangesBytes()).isLessThan(before.getRecentChangesBytes());
+            assertThat(after.getInstanceCount()).isEqualTo(50);
+        }
+    }
+
+    @Nested
+    class GetRenewalSnapshot {
+
+        @Test
+        void shouldReturnSnapshot_WhenNoHeartbeatsSent() {
+            var before = Instant.now();
+
+            var snapshot = EUREKA.getEurekaServer().getRegistry().getRenewalSnapshot();
+
+            assertThat(snapshot.getTimestamp()).isAfterOrEqualTo(before);
+            assertThat(snapshot.getExpectedClients()).isNotNegative();
+            assertThat(snapshot.getExpectedRenewalsPerMinute()).isNotNegative();
+            assertThat(snapshot.getRenewalThreshold()).isNotNegative();
+            assertThat(snapshot.getRenewalsLastMinute()).isZero();
+            assertThat(snapshot.getEvictedLeases()).isZero();
+            assertThat(snapshot.getLastEvictionTime()).isNull();
+        }
+
+        @Test
+        void shouldReportSelfPreservationActive_WhenNoRenewalsReceived() {
+            var snapshot = EUREKA.getRenewalSnapshot();
+
+            assertThat(snapshot.isSelfPreservationEnabled()).isTrue();
+            assertThat(snapshot.isSelfPreservationActive()).isTrue();
+        }
+
+        @Test
+        void shouldAgreeWithRegistry() {
+            var instanceRegistry = EUREKA.getEurekaServer().getRegistry().eurekaServerContext().getRegistry();
+
+            var snapshot = EUREKA.getRenewalSnapshot();
+
+            assertThat(snapshot.getRenewalThreshold()).isEqualTo(instanceRegistry.getNumOfRenewsPerMinThreshold());
+            assertThat(snapshot.isSelfPreservationEnabled())
+                    .isEqualTo(instanceRegistry.isSelfPreservationModeEnabled());
+            assertThat(snapshot.isSelfPreservationActive()).isEqualTo(!instanceRegistry.isLeaseExpirationEnabled());
+        }
+    }
 }
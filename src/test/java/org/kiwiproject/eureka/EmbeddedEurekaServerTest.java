@@ -12,6 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.kiwiproject.net.KiwiUrls;
 
 import javax.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 
 @DisplayName("EmbeddedEurekaServer")
 class EmbeddedEurekaServerTest {
@@ -44,6 +50,90 @@ class EmbeddedEurekaServerTest {
         }
     }
 
+    @Test
+    void shouldServeCleartextHttp2_WhenEnabled() throws IOException, InterruptedException {
+        var config = EmbeddedEurekaServerConfig.builder()
+                .http2Cleartext(true)
+                .idleTimeoutMillis(30_000)
+                .maxConnections(100)
+                .build();
+        var server = new EmbeddedEurekaServer(config);
+        try {
+            server.start();
+
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+            var url = URI.create(KiwiUrls.createHttpUrl("localhost", server.getEurekaPort())).resolve("/v2/apps");
+            var request = HttpRequest.newBuilder(url).build();
+
+            var first = client.send(request, HttpResponse.BodyHandlers.discarding());
+            var second = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+            assertThat(first.statusCode()).isEqualTo(200);
+            assertThat(second.statusCode()).isEqualTo(200);
+            assertThat(second.version()).isEqualTo(HttpClient.Version.HTTP_2);
+            assertThat(server.getConnectionStatistics().getConnectionsTotal()).isEqualTo(1);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldNotLimitConnections_WhenMaxConnectionsIsZero() {
+        var config = EmbeddedEurekaServerConfig.builder()
+                .maxConnections(0)
+                .build();
+        var server = new EmbeddedEurekaServer(config);
+        try {
+            server.start();
+
+            var client = ClientBuilder.newClient();
+
+            var url = KiwiUrls.createHttpUrl("localhost", server.getEurekaPort());
+            var response = client.target(url)
+                    .path("/v2/apps")
+                    .request()
+                    .get();
+
+            assertOkResponse(response);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldStartWithConfiguredPortAndBasePath() throws IOException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        var config = EmbeddedEurekaServerConfig.builder()
+                .port(port)
+                .basePath("/registry")
+                .minThreads(2)
+                .maxThreads(10)
+                .build();
+        var server = new EmbeddedEurekaServer(config);
+        try {
+            server.start();
+
+            assertThat(server.getEurekaPort()).isEqualTo(port);
+
+            var client = ClientBuilder.newClient();
+
+            var url = KiwiUrls.createHttpUrl("localhost", port);
+            var response = client.target(url)
+                    .path("/registry/v2/apps")
+                    .request()
+                    .get();
+
+            assertOkResponse(response);
+            assertThat(server.getRequestStatistics().getRequests()).isPositive();
+        } finally {
+            server.stop();
+        }
+    }
+
     @Test
     void shouldThrowIllegalState_WhenErrorStarting() {
         var embeddedEurekaServer = new ExceptionWhenStartingEmbeddedEurekaServer();
@@ -0,0 +1,138 @@
+package org.kiwiproject.eureka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.eureka.junit.EurekaServerExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@DisplayName("RegistryFixtures")
+class RegistryFixturesTest {
+
+    @RegisterExtension
+    public static final EurekaServerExtension EUREKA = new EurekaServerExtension();
+
+    @AfterEach
+    void cleanupEureka() {
+        EUREKA.clearRegisteredApps();
+    }
+
+    @Test
+    void shouldRegisterEveryInstance(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of(
+                "# appName,instanceId,vipAddress,status",
+                "APPID, INSTANCEID-1, VIP, UP",
+                "",
+                "APPID,INSTANCEID-2,VIP,DOWN"
+        ));
+
+        var count = RegistryFixtures.load(EUREKA.getEurekaServer().getRegistry(), fixture);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(EUREKA.getRegisteredApplication("APPID").getInstances())
+                .extracting("instanceId")
+                .containsExactlyInAnyOrder("INSTANCEID-1", "INSTANCEID-2");
+    }
+
+    @Test
+    void shouldRegisterEveryInstance_WithCompactProfile(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of(
+                "APPID,INSTANCEID-1,VIP,UP",
+                "APPID,INSTANCEID-2,VIP,UP"
+        ));
+
+        var count = RegistryFixtures.load(EUREKA.getEurekaServer().getRegistry(), fixture, RegistrationProfile.COMPACT);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(EUREKA.getRegisteredApplication("APPID").getInstances()).hasSize(2);
+    }
+
+    @Test
+    void shouldKeepRecentChanges_WithCompactProfile(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of(
+                "APPID,INSTANCEID-1,VIP,UP",
+                "APPID,INSTANCEID-2,VIP,UP"
+        ));
+        var registry = EUREKA.getEurekaServer().getRegistry();
+        var before = RegistryFootprint.measure(registry).getRecentChangesBytes();
+
+        RegistryFixtures.load(registry, fixture, RegistrationProfile.COMPACT);
+
+        assertThat(RegistryFootprint.measure(registry).getRecentChangesBytes()).isGreaterThan(before);
+    }
+
+    @Test
+    void shouldClearRecentChanges_WhenRequested(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of(
+                "APPID,INSTANCEID-1,VIP,UP",
+                "APPID,INSTANCEID-2,VIP,UP"
+        ));
+        var registry = EUREKA.getEurekaServer().getRegistry();
+        RegistryFixtures.load(registry, fixture);
+        var kept = RegistryFootprint.measure(registry).getRecentChangesBytes();
+
+        var count = RegistryFixtures.load(registry, fixture, RegistrationProfile.STANDARD,
+                RegistryFixtures.RecentChanges.CLEAR);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(RegistryFootprint.measure(registry).getRecentChangesBytes()).isLessThan(kept);
+        assertThat(EUREKA.getRegisteredApplication("APPID").getInstances()).hasSize(2);
+    }
+
+    @Test
+    void shouldRenewRegisteredInstances(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of(
+                "APPID,INSTANCEID-1,VIP,UP",
+                "APPID,INSTANCEID-2,VIP,UP"
+        ));
+        var registry = EUREKA.getEurekaServer().getRegistry();
+        RegistryFixtures.load(registry, fixture);
+
+        var renewalFixture = tempDir.resolve("renewals.csv");
+        Files.write(renewalFixture, List.of(
+                "APPID,INSTANCEID-1,VIP,UP",
+                "APPID,INSTANCEID-2,VIP,UP",
+                "APPID,NOT-REGISTERED,VIP,UP"
+        ));
+
+        var renewed = RegistryFixtures.renew(registry, renewalFixture);
+
+        assertThat(renewed).isEqualTo(2);
+    }
+
+    @Test
+    void shouldThrowIllegalArgument_WhenLineIsMalformed(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of("APPID,INSTANCEID,VIP"));
+        var registry = EUREKA.getEurekaServer().getRegistry();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RegistryFixtures.load(registry, fixture))
+                .withMessageStartingWith("Expected appName,instanceId,vipAddress,status at line 1");
+    }
+
+    @Test
+    void shouldThrowUncheckedIO_WhenFileDoesNotExist(@TempDir Path tempDir) {
+        var fixture = tempDir.resolve("missing.csv");
+        var registry = EUREKA.getEurekaServer().getRegistry();
+
+        assertThatThrownBy(() -> RegistryFixtures.load(registry, fixture))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,55 @@
+package org.kiwiproject.eureka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.kiwiproject.eureka.junit.EurekaServerExtension;
+
+@DisplayName("RegistryFootprint")
+class RegistryFootprintTest {
+
+    @RegisterExtension
+    public static final EurekaServerExtension EUREKA = new EurekaServerExtension();
+
+    @AfterEach
+    void cleanupEureka() {
+        EUREKA.clearRegisteredApps();
+    }
+
+    @Test
+    void shouldMeasureEmptyRegistry() {
+        var report = RegistryFootprint.measure(EUREKA.getEurekaServer().getRegistry());
+
+        assertThat(report.getInstanceCount()).isZero();
+        assertThat(report.getBytesPerInstance()).isZero();
+        assertThat(report.getHeapDeltaBytes()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldMeasureRegistry_AtGivenSize() {
+        var report = RegistryFootprint.measureAtSize(EUREKA.getEurekaServer(), 500, RegistrationProfile.STANDARD);
+
+        assertThat(report.getInstanceCount()).isEqualTo(500);
+        assertThat(report.getRegistryBytes()).isPositive();
+        assertThat(report.getRecentChangesBytes()).isPositive();
+        assertThat(report.getResponseCacheBytes()).isPositive();
+        assertThat(report.getTotalBytes()).isEqualTo(
+                report.getRegistryBytes() + report.getRecentChangesBytes() + report.getResponseCacheBytes());
+        assertThat(report.getBytesPerInstance()).isEqualTo(report.getTotalBytes() / 500);
+    }
+
+    @Test
+    void shouldUseLessMemory_WithCompactProfile() {
+        var standard = RegistryFootprint.measureAtSize(EUREKA.getEurekaServer(), 500, RegistrationProfile.STANDARD);
+        var compact = RegistryFootprint.measureAtSize(EUREKA.getEurekaServer(), 500, RegistrationProfile.COMPACT);
+
+        assertThat(compact.getInstanceCount()).isEqualTo(500);
+
+        // Each compact instance shares one empty metadata map instead of holding its own empty ConcurrentHashMap
+        var savedBytesPerInstance = (standard.getRegistryBytes() - compact.getRegistryBytes()) / 500;
+        assertThat(savedBytesPerInstance).isBetween(40L, 80L);
+    }
+}
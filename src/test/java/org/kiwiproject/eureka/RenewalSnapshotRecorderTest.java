@@ -0,0 +1,60 @@
+package org.kiwiproject.eureka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.kiwiproject.eureka.junit.EurekaServerExtension;
+
+import java.time.Duration;
+
+@DisplayName("RenewalSnapshotRecorder")
+class RenewalSnapshotRecorderTest {
+
+    @RegisterExtension
+    public static final EurekaServerExtension EUREKA = new EurekaServerExtension();
+
+    @Test
+    void shouldRecordSnapshots_UntilStopped() throws InterruptedException {
+        var registry = EUREKA.getEurekaServer().getRegistry();
+        try (var recorder = new RenewalSnapshotRecorder(registry, Duration.ofMillis(10))) {
+            recorder.start();
+            assertThat(recorder.isRecording()).isTrue();
+
+            Thread.sleep(250);
+            recorder.stop();
+
+            assertThat(recorder.isRecording()).isFalse();
+            var snapshots = recorder.getSnapshots();
+            assertThat(snapshots).hasSizeGreaterThanOrEqualTo(2);
+            assertThat(snapshots.get(1).getTimestamp()).isAfterOrEqualTo(snapshots.get(0).getTimestamp());
+
+            Thread.sleep(50);
+            assertThat(recorder.getSnapshots()).hasSameSizeAs(snapshots);
+
+            recorder.clear();
+            assertThat(recorder.getSnapshots()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldThrowIllegalState_WhenAlreadyStarted() {
+        var registry = EUREKA.getEurekaServer().getRegistry();
+        try (var recorder = new RenewalSnapshotRecorder(registry, Duration.ofSeconds(1))) {
+            recorder.start();
+
+            assertThatIllegalStateException().isThrownBy(recorder::start);
+        }
+    }
+
+    @Test
+    void shouldThrowIllegalArgument_WhenIntervalIsNotPositive() {
+        var registry = EUREKA.getEurekaServer().getRegistry();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new RenewalSnapshotRecorder(registry, Duration.ZERO));
+    }
+}
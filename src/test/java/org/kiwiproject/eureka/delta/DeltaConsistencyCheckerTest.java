@@ -0,0 +1,188 @@
+package org.kiwiproject.eureka.delta;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.ActionType;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.config.ConfigurationManager;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.kiwiproject.eureka.junit.EurekaServerExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@DisplayName("DeltaConsistencyChecker")
+class DeltaConsistencyCheckerTest {
+
+    private static final String RESPONSE_CACHE_UPDATE_INTERVAL = "eureka.responseCacheUpdateIntervalMs";
+
+    static {
+        // Refresh the read-only response cache often enough for deltas to change within a short run
+        ConfigurationManager.getConfigInstance().setProperty(RESPONSE_CACHE_UPDATE_INTERVAL, 100);
+    }
+
+    @RegisterExtension
+    public static final EurekaServerExtension EUREKA = new EurekaServerExtension();
+
+    @AfterEach
+    void cleanupEureka() {
+        EUREKA.clearRegisteredApps();
+    }
+
+    @AfterAll
+    static void resetResponseCacheUpdateInterval() {
+        ConfigurationManager.getConfigInstance().clearProperty(RESPONSE_CACHE_UPDATE_INTERVAL);
+    }
+
+    @Nested
+    class Run {
+
+        @Test
+        void shouldCheckEveryDelta_WhileMutatingConcurrently() {
+            var options = DeltaCheckOptions.builder()
+                    .mutatorThreads(2)
+                    .shadowClients(2)
+                    .applications(2)
+                    .instancesPerApplication(5)
+                    .fetchInterval(Duration.ofMillis(50))
+                    .duration(Duration.ofSeconds(2))
+                    .build();
+            var checker = new DeltaConsistencyChecker(EUREKA.getEurekaServer(), options);
+
+            var report = checker.run();
+
+            assertThat(report.getRegistrations()).isPositive();
+            assertThat(report.getMutations()).isEqualTo(
+                    report.getRegistrations() + report.getCancellations() + report.getStatusChanges());
+            assertThat(report.getMutationsPerSecond()).isPositive();
+            assertThat(report.getFailedRequests()).isZero();
+            assertThat(report.getDeltaFetches()).isPositive();
+            assertThat(report.getDeltaChangesApplied()).isPositive();
+            assertThat(report.getHashCodeMatches() + report.getReconciliationFallbacks())
+                    .isEqualTo(report.getDeltaFetches());
+            assertThat(report.getFullFetches())
+                    .isGreaterThanOrEqualTo(2 + report.getReconciliationFallbacks());
+            assertThat(report.getFallbackRate()).isBetween(0.0, 1.0);
+        }
+
+        @Test
+        void shouldThrowIllegalArgument_WhenThereAreNoShadowClients() {
+            var options = DeltaCheckOptions.builder().shadowClients(0).build();
+            var server = EUREKA.getEurekaServer();
+
+            assertThatIllegalArgumentException().isThrownBy(() -> new DeltaConsistencyChecker(server, options));
+        }
+    }
+
+    @Nested
+    class CheckDelta {
+
+        @Test
+        void shouldFallBackToFullFetch_WhenHashCodeDisagreesWithAppliedDelta() throws IOException {
+            EUREKA.getEurekaServer().getRegistry().registerApplication("APPID", "instance-1", "VIP", "UP");
+            var checker = new DeltaConsistencyChecker(EUREKA.getEurekaServer(), DeltaCheckOptions.builder().build());
+            var shadowClient = checker.newShadowClient(System.nanoTime());
+            shadowClient.fullFetch();
+
+            // No registry state of this test has a thousand UP instances, so the hash code cannot match
+            var delta = applicationsOf(instance("APPID", "instance-2", InstanceStatus.UP, ActionType.ADDED));
+            delta.setAppsHashCode("UP_1000_");
+
+            shadowClient.checkDelta(new CodecWrappers.JacksonJson().encode(delta));
+
+            var report = checker.report(Duration.ZERO);
+            assertThat(report.getDeltaFetches()).isOne();
+            assertThat(report.getDeltaChangesApplied()).isOne();
+            assertThat(report.getHashCodeMatches()).isZero();
+            assertThat(report.getReconciliationFallbacks()).isOne();
+            assertThat(report.getFullFetches()).isEqualTo(2);
+            assertThat(report.getFailedRequests()).isZero();
+        }
+
+        @Test
+        void shouldSkipDelta_WhenItRepeatsThePreviousOne() throws IOException {
+            var checker = new DeltaConsistencyChecker(EUREKA.getEurekaServer(), DeltaCheckOptions.builder().build());
+            var shadowClient = checker.newShadowClient(System.nanoTime());
+            shadowClient.fullFetch();
+
+            var delta = applicationsOf(instance("APPID", "instance-1", InstanceStatus.UP, ActionType.ADDED));
+            delta.setAppsHashCode("UP_1000_");
+            var body = new CodecWrappers.JacksonJson().encode(delta);
+
+            shadowClient.checkDelta(body);
+            shadowClient.checkDelta(body);
+
+            var report = checker.report(Duration.ZERO);
+            assertThat(report.getDeltaFetches()).isOne();
+            assertThat(report.getRepeatedDeltas()).isOne();
+            assertThat(report.getReconciliationFallbacks()).isOne();
+        }
+    }
+
+    @Nested
+    class ApplyDelta {
+
+        @Test
+        void shouldAddModifyAndDeleteInstances() {
+            var applications = applicationsOf(
+                    instance("APPID", "instance-1", InstanceStatus.UP, ActionType.ADDED),
+                    instance("APPID", "instance-2", InstanceStatus.UP, ActionType.ADDED),
+                    instance("OTHER", "other-1", InstanceStatus.UP, ActionType.ADDED));
+
+            var delta = applicationsOf(
+                    instance("APPID", "instance-1", InstanceStatus.OUT_OF_SERVICE, ActionType.MODIFIED),
+                    instance("APPID", "instance-3", InstanceStatus.UP, ActionType.ADDED),
+                    instance("OTHER", "other-1", InstanceStatus.UP, ActionType.DELETED));
+
+            var changes = DeltaConsistencyChecker.applyDelta(applications, delta);
+
+            assertThat(changes).isEqualTo(3);
+            assertThat(applications.getRegisteredApplications("OTHER")).isNull();
+            assertThat(applications.getRegisteredApplications("APPID").getInstancesAsIsFromEureka())
+                    .extracting(InstanceInfo::getId, InstanceInfo::getStatus)
+                    .containsExactlyInAnyOrder(
+                            tuple("instance-1", InstanceStatus.OUT_OF_SERVICE),
+                            tuple("instance-2", InstanceStatus.UP),
+                            tuple("instance-3", InstanceStatus.UP));
+            assertThat(applications.getReconcileHashCode()).isEqualTo("OUT_OF_SERVICE_1_UP_2_");
+        }
+    }
+
+    private static Applications applicationsOf(InstanceInfo... instances) {
+        var applications = new Applications();
+        for (var instance : instances) {
+            var application = applications.getRegisteredApplications(instance.getAppName());
+            if (application == null) {
+                application = new Application(instance.getAppName());
+                applications.addApplication(application);
+            }
+            application.addInstance(instance);
+        }
+        return applications;
+    }
+
+    private static InstanceInfo instance(String appName, String instanceId, InstanceStatus status, ActionType action) {
+        var instance = InstanceInfo.Builder.newBuilder()
+                .setAppName(appName)
+                .setInstanceId(instanceId)
+                .setHostName(instanceId)
+                .setStatus(status)
+                .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+                .build();
+        instance.setActionType(action);
+        return instance;
+    }
+}
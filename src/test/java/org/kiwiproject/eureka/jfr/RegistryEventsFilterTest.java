@@ -0,0 +1,155 @@
+package org.kiwiproject.eureka.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.kiwiproject.test.jaxrs.JaxrsTestHelper.assertOkResponse;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.eureka.junit.EurekaServerExtension;
+import org.kiwiproject.net.KiwiUrls;
+
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DisplayName("RegistryEventsFilter")
+class RegistryEventsFilterTest {
+
+    @RegisterExtension
+    public static final EurekaServerExtension EUREKA = new EurekaServerExtension();
+
+    private static final String HTTP_REGISTRATION = "{\"instance\":{"
+            + "\"instanceId\":\"http-1\",\"hostName\":\"http-1\",\"app\":\"HTTP-APP\",\"ipAddr\":\"127.0.0.1\","
+            + "\"vipAddress\":\"http-app\",\"status\":\"UP\",\"port\":{\"$\":8080,\"@enabled\":\"true\"},"
+            + "\"dataCenterInfo\":{"
+            + "\"@class\":\"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo\",\"name\":\"MyOwn\"}"
+            + "}}";
+
+    @AfterEach
+    void cleanupEureka() {
+        EUREKA.clearRegisteredApps();
+    }
+
+    @Nested
+    class FetchTypeOf {
+
+        @Test
+        void shouldClassifyFetches() {
+            assertThat(RegistryEventsFilter.fetchTypeOf("/v2/apps")).isEqualTo("FULL");
+            assertThat(RegistryEventsFilter.fetchTypeOf("/v2/apps/")).isEqualTo("FULL");
+            assertThat(RegistryEventsFilter.fetchTypeOf("/v2/apps/delta")).isEqualTo("DELTA");
+        }
+
+        @Test
+        void shouldReturnNull_WhenNotAFetch() {
+            assertThat(RegistryEventsFilter.fetchTypeOf("/v2/apps/APPID")).isNull();
+            assertThat(RegistryEventsFilter.fetchTypeOf("/v2/vips/VIP")).isNull();
+        }
+    }
+
+    @Nested
+    class OperationOf {
+
+        @Test
+        void shouldClassifyOperations() {
+            assertThat(operationOf("POST", "/v2/apps/APPID")).isEqualTo(RegistryOperationEvent.REGISTER);
+            assertThat(operationOf("PUT", "/v2/apps/APPID/INSTANCEID")).isEqualTo(RegistryOperationEvent.RENEW);
+            assertThat(operationOf("DELETE", "/v2/apps/APPID/INSTANCEID")).isEqualTo(RegistryOperationEvent.CANCEL);
+            assertThat(operationOf("PUT", "/v2/apps/APPID/INSTANCEID/status"))
+                    .isEqualTo(RegistryOperationEvent.STATUS_CHANGE);
+            assertThat(operationOf("DELETE", "/v2/apps/APPID/INSTANCEID/status"))
+                    .isEqualTo(RegistryOperationEvent.STATUS_OVERRIDE_REMOVAL);
+        }
+
+        @Test
+        void shouldReturnNull_WhenNotARegistryOperation() {
+            assertThat(operationOf("PUT", "/v2/apps/APPID")).isNull();
+            assertThat(operationOf("POST", "/v2/apps/APPID/INSTANCEID")).isNull();
+            assertThat(operationOf("PUT", "/v2/apps/APPID/INSTANCEID/metadata")).isNull();
+            assertThat(operationOf("POST", "/v2/apps")).isNull();
+            assertThat(operationOf("PUT", "/v2/instances/INSTANCEID")).isNull();
+        }
+
+        private String operationOf(String method, String path) {
+            return RegistryEventsFilter.operationOf(method, RegistryEventsFilter.appsPathSegments(path));
+        }
+    }
+
+    @Nested
+    class WhenRecording {
+
+        @Test
+        void shouldEmitEvents(@TempDir Path tempDir) throws IOException {
+            List<RecordedEvent> events;
+            try (var recording = new Recording()) {
+                recording.enable(RegistryFetchEvent.class);
+                recording.enable(RegistryOperationEvent.class);
+                recording.start();
+
+                EUREKA.registerApplication("APPID", "INSTANCEID", "VIP", "UP");
+
+                var client = ClientBuilder.newClient();
+                var url = KiwiUrls.createHttpUrl("localhost", EUREKA.getPort());
+                assertOkResponse(client.target(url).path("/eureka/v2/apps").request().get());
+                assertOkResponse(client.target(url).path("/eureka/v2/apps/delta").request().get());
+
+                var appsTarget = client.target(url).path("/eureka/v2/apps");
+                assertThat(appsTarget.path("HTTP-APP").request().post(Entity.json(HTTP_REGISTRATION)).getStatus())
+                        .isEqualTo(204);
+                assertOkResponse(appsTarget.path("HTTP-APP/http-1").request().put(Entity.text("")));
+                assertOkResponse(appsTarget.path("HTTP-APP/http-1").request().delete());
+
+                recording.stop();
+
+                var dumpFile = tempDir.resolve("events.jfr");
+                recording.dump(dumpFile);
+                events = RecordingFile.readAllEvents(dumpFile);
+            }
+
+            var fetchTypes = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("org.kiwiproject.eureka.RegistryFetch"))
+                    .map(event -> event.getString("fetchType"))
+                    .collect(Collectors.toList());
+            assertThat(fetchTypes).containsExactlyInAnyOrder("FULL", "DELTA");
+
+            var operations = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("org.kiwiproject.eureka.RegistryOperation"))
+                    .collect(Collectors.toList());
+            assertThat(operations).hasSize(4);
+
+            var bootstrapOperations = operationsFrom(operations, RegistryOperationEvent.SOURCE_BOOTSTRAP);
+            assertThat(bootstrapOperations).hasSize(1);
+            assertThat(bootstrapOperations.get(0).getString("operation")).isEqualTo(RegistryOperationEvent.REGISTER);
+            assertThat(bootstrapOperations.get(0).getString("appName")).isEqualTo("APPID");
+            assertThat(bootstrapOperations.get(0).getString("instanceId")).isEqualTo("INSTANCEID");
+
+            var httpOperations = operationsFrom(operations, RegistryOperationEvent.SOURCE_HTTP);
+            assertThat(httpOperations)
+                    .extracting(event -> event.getString("operation"),
+                            event -> event.getString("appName"),
+                            event -> event.getString("instanceId"),
+                            event -> event.getInt("httpStatus"))
+                    .containsExactlyInAnyOrder(
+                            tuple(RegistryOperationEvent.REGISTER, "HTTP-APP", null, 204),
+                            tuple(RegistryOperationEvent.RENEW, "HTTP-APP", "http-1", 200),
+                            tuple(RegistryOperationEvent.CANCEL, "HTTP-APP", "http-1", 200));
+        }
+
+        private List<RecordedEvent> operationsFrom(List<RecordedEvent> operations, String source) {
+            return operations.stream()
+                    .filter(event -> source.equals(event.getString("source")))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.kiwiproject.eureka.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+@DisplayName("AccessLogParser")
+class AccessLogParserTest {
+
+    @Test
+    void shouldParseRenewal() {
+        var entry = AccessLogParser.parse(
+                "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"PUT /eureka/v2/apps/MY-APP/i-123?status=UP HTTP/1.1\" 200 0")
+                .orElseThrow();
+
+        assertThat(entry.getTimestamp()).isEqualTo(Instant.parse("2026-10-18T13:55:36Z"));
+        assertThat(entry.getOperation()).isEqualTo(ReplayOperation.RENEW);
+        assertThat(entry.getMethod()).isEqualTo("PUT");
+        assertThat(entry.getPath()).isEqualTo("/v2/apps/MY-APP/i-123");
+        assertThat(entry.getQuery()).isEqualTo("status=UP");
+        assertThat(entry.getAppName()).isEqualTo("MY-APP");
+        assertThat(entry.getInstanceId()).isEqualTo("i-123");
+    }
+
+    @Test
+    void shouldParseCombinedFormat() {
+        var entry = AccessLogParser.parse("10.1.2.3 - - [18/Oct/2026:13:55:36 -0400] \"GET /v2/apps/delta HTTP/1.1\" "
+                + "200 512 \"-\" \"Java-EurekaClient/v1.10.17\"")
+                .orElseThrow();
+
+        assertThat(entry.getTimestamp()).isEqualTo(Instant.parse("2026-10-18T17:55:36Z"));
+        assertThat(entry.getOperation()).isEqualTo(ReplayOperation.DELTA_FETCH);
+        assertThat(entry.getAppName()).isNull();
+        assertThat(entry.getInstanceId()).isNull();
+    }
+
+    @Test
+    void shouldParseRegistration() {
+        var entry = AccessLogParser.parse(
+                "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"POST /eureka/v2/apps/MY-APP HTTP/1.1\" 204 0")
+                .orElseThrow();
+
+        assertThat(entry.getOperation()).isEqualTo(ReplayOperation.REGISTER);
+        assertThat(entry.getAppName()).isEqualTo("MY-APP");
+        assertThat(entry.getInstanceId()).isNull();
+    }
+
+    @Test
+    void shouldSkipMalformedLines() {
+        assertThat(AccessLogParser.parse("not an access log line")).isEmpty();
+        assertThat(AccessLogParser.parse("10.1.2.3 - - [yesterday] \"GET /v2/apps HTTP/1.1\" 200 0")).isEmpty();
+    }
+
+    @Test
+    void shouldSkipNonReplayableRequests() {
+        assertThat(AccessLogParser.parse(
+                "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"GET /eureka/v2/vips/my-vip HTTP/1.1\" 200 0")).isEmpty();
+        assertThat(AccessLogParser.parse(
+                "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"GET /eureka/v2/apps/MY-APP HTTP/1.1\" 200 0")).isEmpty();
+    }
+}
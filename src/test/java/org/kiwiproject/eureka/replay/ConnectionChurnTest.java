@@ -0,0 +1,128 @@
+package org.kiwiproject.eureka.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.eureka.EmbeddedEurekaServer;
+import org.kiwiproject.eureka.EmbeddedEurekaServerConfig;
+import org.kiwiproject.eureka.EurekaTestHelpers;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+@DisplayName("ConnectionChurn")
+class ConnectionChurnTest {
+
+    private static final List<String> INSTANCES = List.of(
+            "APPID/INSTANCEID-1",
+            "APPID/INSTANCEID-2",
+            "APPID/INSTANCEID-3",
+            "APPID/INSTANCEID-4",
+            "APPID/INSTANCEID-5"
+    );
+
+    @Nested
+    class Run {
+
+        @BeforeEach
+        void setUp() {
+            EurekaTestHelpers.resetStatsMonitor();
+        }
+
+        @Test
+        void shouldKeepOneConnectionPerClient_WhenThinkTimeIsShorterThanIdleTimeout() {
+            var server = startServer(EmbeddedEurekaServerConfig.builder().build());
+            try {
+                var result = new ConnectionChurn(baseUri(server), 2).run(INSTANCES, 3, Duration.ofMillis(50));
+
+                assertThat(result.getRequests()).isEqualTo(15);
+                assertThat(result.getFailedRequests()).isZero();
+                assertThat(result.getConnections()).isEqualTo(5);
+                assertThat(result.getStaleConnections()).isZero();
+                assertThat(server.getConnectionStatistics().getConnectionsTotal()).isEqualTo(5);
+            } finally {
+                server.stop();
+            }
+        }
+
+        @Test
+        void shouldReconnectForEveryRenewal_WhenThinkTimeIsLongerThanIdleTimeout() {
+            var server = startServer(EmbeddedEurekaServerConfig.builder().idleTimeoutMillis(200).build());
+            try {
+                var result = new ConnectionChurn(baseUri(server), 2).run(INSTANCES, 2, Duration.ofMillis(800));
+
+                assertThat(result.getRequests()).isEqualTo(10);
+                assertThat(result.getFailedRequests()).isZero();
+                assertThat(result.getConnections()).isEqualTo(10);
+                assertThat(result.getStaleConnections()).isEqualTo(5);
+                assertThat(server.getConnectionStatistics().getConnectionsTotal()).isEqualTo(10);
+            } finally {
+                server.stop();
+            }
+        }
+
+        private EmbeddedEurekaServer startServer(EmbeddedEurekaServerConfig config) {
+            var server = new EmbeddedEurekaServer(config);
+            server.start();
+            for (var instance : INSTANCES) {
+                server.getRegistry().registerApplication("APPID", instance.substring("APPID/".length()), "VIP", "UP");
+            }
+            return server;
+        }
+
+        private URI baseUri(EmbeddedEurekaServer server) {
+            return URI.create("http://localhost:" + server.getEurekaPort() + server.getBasePath());
+        }
+    }
+
+    @Nested
+    class ReadResponse {
+
+        @Test
+        void shouldReadConsecutiveResponses_WithContentLength() throws IOException {
+            var in = stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello"
+                    + "HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n");
+
+            assertThat(ConnectionChurn.readResponse(in)).isEqualTo(new ConnectionChurn.Response(200, true));
+            assertThat(ConnectionChurn.readResponse(in)).isEqualTo(new ConnectionChurn.Response(404, true));
+            assertThat(ConnectionChurn.readResponse(in)).isNull();
+        }
+
+        @Test
+        void shouldSkipChunkedBody_AndTrailers() throws IOException {
+            var in = stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + "5;ext=1\r\nhello\r\n0\r\nX-Trailer: yes\r\n\r\n"
+                    + "HTTP/1.1 204 No Content\r\n\r\n");
+
+            assertThat(ConnectionChurn.readResponse(in)).isEqualTo(new ConnectionChurn.Response(200, true));
+            assertThat(ConnectionChurn.readResponse(in)).isEqualTo(new ConnectionChurn.Response(204, true));
+        }
+
+        @Test
+        void shouldNotKeepAlive_WhenServerClosesConnection() throws IOException {
+            var in = stream("HTTP/1.1 503 Service Unavailable\r\nConnection: close\r\nContent-Length: 0\r\n\r\n");
+
+            assertThat(ConnectionChurn.readResponse(in)).isEqualTo(new ConnectionChurn.Response(503, false));
+        }
+
+        @Test
+        void shouldThrowEOF_WhenConnectionClosesPartWayThroughBody() {
+            var in = stream("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nhello");
+
+            assertThatThrownBy(() -> ConnectionChurn.readResponse(in)).isInstanceOf(EOFException.class);
+        }
+
+        private ByteArrayInputStream stream(String response) {
+            return new ByteArrayInputStream(response.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.kiwiproject.eureka.replay;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.eureka.replay.ConnectorBenchmark.Workload;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@DisplayName("ConnectorBenchmark")
+class ConnectorBenchmarkTest {
+
+    @Test
+    void shouldGenerateFetchHeavyLog() {
+        var entries = ConnectorBenchmark.generateLog(Workload.FETCH_HEAVY, 1_000, 50)
+                .map(AccessLogParser::parse)
+                .flatMap(Optional::stream)
+                .collect(toList());
+
+        assertThat(entries).hasSize(1_000);
+        assertThat(entries.stream().collect(groupingBy(AccessLogEntry::getOperation, counting())))
+                .containsEntry(ReplayOperation.FULL_FETCH, 400L)
+                .containsEntry(ReplayOperation.DELTA_FETCH, 400L)
+                .containsEntry(ReplayOperation.RENEW, 200L);
+    }
+
+    @Test
+    void shouldGenerateRenewalHeavyLog_RenewingEachInstanceOncePerSecond() {
+        var entries = ConnectorBenchmark.generateLog(Workload.RENEWAL_HEAVY, 1_000, 50)
+                .map(AccessLogParser::parse)
+                .flatMap(Optional::stream)
+                .collect(toList());
+
+        var renewals = entries.stream()
+                .filter(entry -> entry.getOperation() == ReplayOperation.RENEW)
+                .collect(toList());
+
+        assertThat(entries).hasSize(1_000);
+        assertThat(renewals).hasSize(950);
+        assertThat(renewals.stream().map(AccessLogEntry::getInstanceId).distinct()).hasSize(50);
+
+        // 950 renewals of 50 instances is 19 rounds, one per second
+        assertThat(Duration.between(renewals.get(0).getTimestamp(), renewals.get(949).getTimestamp())).hasSeconds(18);
+    }
+
+    @Test
+    void shouldGenerateOneChurnInstancePerClient_TenPerApplication() {
+        var instances = ConnectorBenchmark.churnInstances(25);
+
+        assertThat(instances)
+                .hasSize(25)
+                .doesNotHaveDuplicates()
+                .startsWith("CHURN-0/churn-0", "CHURN-0/churn-1")
+                .endsWith("CHURN-2/churn-24");
+        assertThat(instances.stream().map(instance -> instance.substring(0, instance.indexOf('/'))).distinct())
+                .containsExactly("CHURN-0", "CHURN-1", "CHURN-2");
+    }
+}
@@ -0,0 +1,117 @@
+package org.kiwiproject.eureka.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.eureka.junit.EurekaServerExtension;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+@DisplayName("TrafficReplayEngine")
+class TrafficReplayEngineTest {
+
+    @RegisterExtension
+    public static final EurekaServerExtension EUREKA = new EurekaServerExtension();
+
+    @AfterEach
+    void cleanupEureka() {
+        EUREKA.clearRegisteredApps();
+    }
+
+    @Test
+    void shouldReplayAccessLog(@TempDir Path tempDir) throws IOException {
+        var accessLog = tempDir.resolve("access.log");
+        Files.write(accessLog, List.of(
+                "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"POST /eureka/v2/apps/MY-APP HTTP/1.1\" 204 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"POST /eureka/v2/apps/OTHER-APP HTTP/1.1\" 204 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:37 +0000] \"GET /eureka/v2/apps HTTP/1.1\" 200 512",
+                "10.1.2.3 - - [18/Oct/2026:13:55:38 +0000] \"PUT /eureka/v2/apps/OTHER-APP/i-1 HTTP/1.1\" 200 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:38 +0000] \"PUT /eureka/v2/apps/MY-APP/m-1 HTTP/1.1\" 200 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:39 +0000] \"PUT /eureka/v2/apps/OTHER-APP/i-1 HTTP/1.1\" 200 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:39 +0000] \"PUT /eureka/v2/apps/MY-APP/m-1 HTTP/1.1\" 200 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:40 +0000] \"GET /eureka/v2/apps/delta HTTP/1.1\" 200 128",
+                "10.1.2.3 - - [18/Oct/2026:13:55:41 +0000] \"GET /eureka/status HTTP/1.1\" 200 128",
+                "10.1.2.3 - - [18/Oct/2026:13:55:42 +0000] "
+                        + "\"PUT /eureka/v2/apps/MY-APP/m-2/status?value=OUT_OF_SERVICE HTTP/1.1\" 200 0",
+                "10.1.2.3 - - [18/Oct/2026:13:55:46 +0000] \"DELETE /eureka/v2/apps/OTHER-APP/i-1 HTTP/1.1\" 200 0"
+        ));
+
+        var options = ReplayOptions.builder()
+                .rateMultiplier(100)
+                .maxConnections(1)
+                .build();
+        var engine = new TrafficReplayEngine(baseUri(), options);
+
+        var report = engine.replay(accessLog);
+
+        // The two logged POSTs are skipped rather than sent; see the registration assertions below
+        assertThat(report.getTotalRequests()).isEqualTo(8);
+        assertThat(report.getSkippedRegistrations()).isEqualTo(2);
+        assertThat(report.getSkippedLines()).isEqualTo(1);
+        assertThat(report.getFailedRequests()).isZero();
+        assertThat(report.getReRegistrations()).isZero();
+        assertThat(report.getRequestsByOperation())
+                .doesNotContainKey(ReplayOperation.REGISTER)
+                .containsEntry(ReplayOperation.RENEW, 4L)
+                .containsEntry(ReplayOperation.STATUS_CHANGE, 1L)
+                .containsEntry(ReplayOperation.CANCEL, 1L)
+                .containsEntry(ReplayOperation.FULL_FETCH, 1L)
+                .containsEntry(ReplayOperation.DELTA_FETCH, 1L);
+        assertThat(report.getOriginalDuration()).hasSeconds(10);
+        assertThat(report.getScheduledDuration()).hasMillis(100);
+        assertThat(report.getActualDuration()).isPositive();
+        assertThat(report.getActualThroughput()).isPositive();
+        assertThat(report.getActualThroughput())
+                .isCloseTo(8 / (report.getActualDuration().toNanos() / 1e9), within(0.01));
+        assertThat(report.getMaxLatency()).isGreaterThanOrEqualTo(report.getP50Latency());
+
+        // One registration per distinct instance ID (m-1, m-2, i-1), none for the logged POSTs; i-1 was then cancelled
+        assertThat(report.getImplicitRegistrations()).isEqualTo(3);
+        assertThat(report.getSentRequests()).isEqualTo(11);
+        assertThat(report.getMaxRegistrationLatency()).isPositive();
+        assertThat(EUREKA.getRegisteredApplication("MY-APP").getInstances())
+                .extracting("instanceId")
+                .containsExactlyInAnyOrder("m-1", "m-2");
+        assertThat(EUREKA.isApplicationRegistered("OTHER-APP")).isFalse();
+    }
+
+    @Test
+    void shouldSpreadEntriesAcrossTheirSecond() {
+        var line = "10.1.2.3 - - [18/Oct/2026:13:55:36 +0000] \"GET /eureka/v2/apps/delta HTTP/1.1\" 200 128";
+        var options = ReplayOptions.builder()
+                .maxConnections(4)
+                .build();
+        var engine = new TrafficReplayEngine(baseUri(), options);
+
+        var report = engine.replay(Stream.of(line, line, line, line));
+
+        // Sent at 0, 250, 500 and 750 ms rather than all at once
+        assertThat(report.getTotalRequests()).isEqualTo(4);
+        assertThat(report.getActualDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(750));
+        assertThat(report.getFailedRequests()).isZero();
+    }
+
+    @Test
+    void shouldRequirePositiveRateMultiplier() {
+        var options = ReplayOptions.builder().rateMultiplier(0).build();
+        var baseUri = baseUri();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new TrafficReplayEngine(baseUri, options));
+    }
+
+    private static URI baseUri() {
+        return URI.create("http://localhost:" + EUREKA.getPort() + EurekaServerExtension.EUREKA_API_BASE_PATH);
+    }
+}
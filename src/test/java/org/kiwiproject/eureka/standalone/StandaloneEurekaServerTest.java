@@ -0,0 +1,128 @@
+package org.kiwiproject.eureka.standalone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.kiwiproject.test.jaxrs.JaxrsTestHelper.assertOkResponse;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.eureka.EurekaTestHelpers;
+import org.kiwiproject.net.KiwiUrls;
+
+import javax.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("StandaloneEurekaServer")
+class StandaloneEurekaServerTest {
+
+    @BeforeEach
+    void setUp() {
+        EurekaTestHelpers.resetStatsMonitor();
+    }
+
+    @Test
+    void shouldStartWithFixtureAndServeMetrics(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of(
+                "# appName,instanceId,vipAddress,status",
+                "ORDER-SERVICE,order-1,order-service,UP",
+                "ORDER-SERVICE,order-2,order-service,UP",
+                "",
+                "BILLING-SERVICE,billing-1,billing-service,STARTING"
+        ));
+
+        var options = StandaloneOptions.builder()
+                .port(0)
+                .metricsPort(0)
+                .maxThreads(16)
+                .fixture(fixture)
+                .build();
+
+        var standaloneServer = StandaloneEurekaServer.start(options);
+        try {
+            var client = ClientBuilder.newClient();
+
+            var eurekaUrl = KiwiUrls.createHttpUrl("localhost", standaloneServer.getEurekaServer().getEurekaPort());
+            assertOkResponse(client.target(eurekaUrl).path("/eureka/v2/apps").request().get());
+
+            var metricsUrl = KiwiUrls.createHttpUrl("localhost", standaloneServer.getMetricsEndpoint().getPort());
+            var response = client.target(metricsUrl).path("/metrics").request().get();
+            assertOkResponse(response);
+
+            var metrics = new ObjectMapper().readValue(response.readEntity(String.class),
+                    new TypeReference<Map<String, Map<String, Object>>>() {});
+            assertThat(metrics.get("registry"))
+                    .containsEntry("applications", 2)
+                    .containsEntry("instances", 3);
+            assertThat(metrics.get("requests")).containsKeys("total", "ratePerSecond", "latencyMeanMillis");
+            assertThat(((Number) metrics.get("requests").get("total")).longValue()).isPositive();
+            assertThat(metrics.get("connections")).containsKeys("total", "open", "ratePerSecond");
+            assertThat(((Number) metrics.get("connections").get("total")).longValue()).isPositive();
+            assertThat(metrics.get("eureka")).containsKeys("REGISTER", "RENEW", "CANCEL");
+        } finally {
+            standaloneServer.stop();
+        }
+
+        assertThat(standaloneServer.getEurekaServer().isStopped()).isTrue();
+    }
+
+    @Test
+    void shouldRenewFixtureInstances(@TempDir Path tempDir) throws IOException, InterruptedException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of("ORDER-SERVICE,order-1,order-service,UP"));
+
+        var options = StandaloneOptions.builder()
+                .port(0)
+                .metricsPort(-1)
+                .fixture(fixture)
+                .fixtureRenewalIntervalMillis(50)
+                .build();
+
+        var standaloneServer = StandaloneEurekaServer.start(options);
+        try {
+            var registry = standaloneServer.getEurekaServer().getRegistry();
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.getHeartbeatCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(25);
+            }
+
+            assertThat(registry.getHeartbeatCount()).isGreaterThanOrEqualTo(2);
+        } finally {
+            standaloneServer.stop();
+        }
+    }
+
+    @Test
+    void shouldStopEureka_WhenFixtureFailsToLoad(@TempDir Path tempDir) throws IOException {
+        var fixture = tempDir.resolve("registry.csv");
+        Files.write(fixture, List.of("ORDER-SERVICE,order-1"));
+
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        var options = StandaloneOptions.builder()
+                .port(port)
+                .metricsPort(-1)
+                .fixture(fixture)
+                .build();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> StandaloneEurekaServer.start(options));
+
+        // The port is only free again if the Jetty server that was started has been stopped
+        try (var socket = new ServerSocket(port)) {
+            assertThat(socket.getLocalPort()).isEqualTo(port);
+        }
+    }
+}
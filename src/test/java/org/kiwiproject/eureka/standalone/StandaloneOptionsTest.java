@@ -0,0 +1,104 @@
+package org.kiwiproject.eureka.standalone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.eureka.RegistrationProfile;
+import org.kiwiproject.eureka.RegistryFixtures;
+
+import java.nio.file.Path;
+
+@DisplayName("StandaloneOptions")
+class StandaloneOptionsTest {
+
+    @Test
+    void shouldUseDefaults_WhenNoArguments() {
+        var options = StandaloneOptions.parse();
+
+        assertThat(options.getPort()).isEqualTo(8761);
+        assertThat(options.getBasePath()).isEqualTo("/eureka");
+        assertThat(options.getMinThreads()).isEqualTo(8);
+        assertThat(options.getMaxThreads()).isEqualTo(200);
+        assertThat(options.isHttp2Cleartext()).isFalse();
+        assertThat(options.getIdleTimeoutMillis()).isEqualTo(3_600_000);
+        assertThat(options.getMaxConnections()).isEqualTo(-1);
+        assertThat(options.getAcceptQueueSize()).isZero();
+        assertThat(options.getOutputBufferSize()).isEqualTo(32_768);
+        assertThat(options.getFixture()).isNull();
+        assertThat(options.getFixtureProfile()).isEqualTo(RegistrationProfile.STANDARD);
+        assertThat(options.getFixtureRecentChanges()).isEqualTo(RegistryFixtures.RecentChanges.KEEP);
+        assertThat(options.getFixtureRenewalIntervalMillis()).isEqualTo(30_000);
+        assertThat(options.isFixtureRenewalEnabled()).isFalse();
+        assertThat(options.getMetricsPort()).isEqualTo(8762);
+        assertThat(options.isMetricsEnabled()).isTrue();
+        assertThat(options.isHelp()).isFalse();
+    }
+
+    @Test
+    void shouldParseAllOptions() {
+        var options = StandaloneOptions.parse("--port=9000", "--base-path=/registry", "--min-threads=4",
+                "--max-threads=50", "--thread-idle-timeout=1000", "--fixture=/tmp/registry.csv",
+                "--fixture-profile=compact", "--fixture-clear-recent-changes", "--fixture-renewal=0",
+                "--metrics-port=-1", "--h2c", "--idle-timeout=5000", "--max-connections=1000",
+                "--accept-queue-size=256", "--output-buffer-size=65536");
+
+        assertThat(options.getPort()).isEqualTo(9000);
+        assertThat(options.getBasePath()).isEqualTo("/registry");
+        assertThat(options.getMinThreads()).isEqualTo(4);
+        assertThat(options.getMaxThreads()).isEqualTo(50);
+        assertThat(options.getThreadIdleTimeoutMillis()).isEqualTo(1000);
+        assertThat(options.getFixture()).isEqualTo(Path.of("/tmp/registry.csv"));
+        assertThat(options.getFixtureProfile()).isEqualTo(RegistrationProfile.COMPACT);
+        assertThat(options.getFixtureRecentChanges()).isEqualTo(RegistryFixtures.RecentChanges.CLEAR);
+        assertThat(options.getFixtureRenewalIntervalMillis()).isZero();
+        assertThat(options.isFixtureRenewalEnabled()).isFalse();
+        assertThat(options.isMetricsEnabled()).isFalse();
+
+        var serverConfig = options.toServerConfig();
+        assertThat(serverConfig.getPort()).isEqualTo(9000);
+        assertThat(serverConfig.getBasePath()).isEqualTo("/registry");
+        assertThat(serverConfig.getMinThreads()).isEqualTo(4);
+        assertThat(serverConfig.getMaxThreads()).isEqualTo(50);
+        assertThat(serverConfig.getThreadIdleTimeoutMillis()).isEqualTo(1000);
+        assertThat(serverConfig.isHttp2Cleartext()).isTrue();
+        assertThat(serverConfig.getIdleTimeoutMillis()).isEqualTo(5000);
+        assertThat(serverConfig.getMaxConnections()).isEqualTo(1000);
+        assertThat(serverConfig.getAcceptQueueSize()).isEqualTo(256);
+        assertThat(serverConfig.getOutputBufferSize()).isEqualTo(65_536);
+    }
+
+    @Test
+    void shouldParseHelp() {
+        assertThat(StandaloneOptions.parse("--help").isHelp()).isTrue();
+    }
+
+    @Test
+    void shouldThrowIllegalArgument_WhenOptionIsUnknown() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> StandaloneOptions.parse("--color=blue"))
+                .withMessage("Unknown option: --color");
+    }
+
+    @Test
+    void shouldThrowIllegalArgument_WhenValueIsMissing() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> StandaloneOptions.parse("--port"))
+                .withMessage("Expected --name=value but got: --port");
+    }
+
+    @Test
+    void shouldThrowIllegalArgument_WhenProfileIsUnknown() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> StandaloneOptions.parse("--fixture-profile=tiny"))
+                .withMessage("Option --fixture-profile requires STANDARD or COMPACT but got: tiny");
+    }
+
+    @Test
+    void shouldThrowIllegalArgument_WhenValueIsNotAnInteger() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> StandaloneOptions.parse("--max-threads=lots"))
+                .withMessage("Option --max-threads requires an integer but got: lots");
+    }
+}